@@ -0,0 +1,86 @@
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * JMH throughput comparison of thread-safe priority queues under a shared
+ * insert/deleteMin load: FlatCombiningFibonacciHeap, a FibonacciHeap behind
+ * a plain synchronized block, and java.util.concurrent.PriorityBlockingQueue.
+ *
+ * Every thread repeatedly inserts a random key and deletes the minimum, so
+ * the queue stays at about its initial size. Run once per thread count to
+ * see how each implementation scales, e.g.
+ *
+ *   for t in 1 2 4 8 16 32; do
+ *     bench/jmh.sh ConcurrentHeapBenchmark -t $t
+ *   done
+ *
+ * and compare ops/us across runs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentHeapBenchmark {
+
+    static final int KEY_RANGE = 1 << 20;
+
+    public enum Implementation { FLAT_COMBINING, SYNCHRONIZED, PRIORITY_BLOCKING_QUEUE }
+
+    @Param({"FLAT_COMBINING", "SYNCHRONIZED", "PRIORITY_BLOCKING_QUEUE"})
+    public Implementation implementation;
+
+    @Param({"10000"})
+    public int initialSize;
+
+    @Param({"2"})
+    public int nodesToCut;
+
+    private FlatCombiningFibonacciHeap flatCombining;
+    private FibonacciHeap locked;
+    private PriorityBlockingQueue<Integer> blockingQueue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(42);
+        flatCombining = new FlatCombiningFibonacciHeap(nodesToCut);
+        locked = new FibonacciHeap(nodesToCut);
+        blockingQueue = new PriorityBlockingQueue<>();
+        for (int i = 0; i < initialSize; i++) {
+            int key = 1 + random.nextInt(KEY_RANGE);
+            switch (implementation) {
+                case FLAT_COMBINING: flatCombining.insert(key, ""); break;
+                case SYNCHRONIZED: locked.insert(key, ""); break;
+                default: blockingQueue.add(key); break;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Object insertDeleteMin() {
+        int key = 1 + ThreadLocalRandom.current().nextInt(KEY_RANGE);
+        switch (implementation) {
+            case FLAT_COMBINING:
+                flatCombining.insert(key, "");
+                return flatCombining.deleteMin();
+            case SYNCHRONIZED:
+                synchronized (locked) {
+                    locked.insert(key, "");
+                }
+                synchronized (locked) {
+                    FibonacciHeap.HeapNode min = locked.findMin();
+                    locked.deleteMin();
+                    return min;
+                }
+            default:
+                blockingQueue.add(key);
+                return blockingQueue.poll();
+        }
+    }
+}
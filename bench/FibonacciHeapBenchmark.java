@@ -0,0 +1,262 @@
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH harness for every public FibonacciHeap operation.
+ *
+ * Each benchmark is parameterized by heap size, nodesToCut (c) and key
+ * distribution. Destructive operations rebuild their heap before every
+ * invocation and then apply OPS operations, so the reported ns/op is the
+ * cost of a single operation on a heap of (roughly) heapSize nodes.
+ *
+ * The benchmarks live outside src/ because they need jmh-core and
+ * jmh-generator-annprocess on the classpath; bench/jmh.sh fetches both and
+ * builds them together with src/. Run with the gc profiler to get the
+ * allocation rate next to ns/op:
+ *
+ *   bench/jmh.sh FibonacciHeapBenchmark -prof gc
+ *
+ * and read gc.alloc.rate.norm (bytes/op) in the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FibonacciHeapBenchmark {
+
+    static final int OPS = 1024;
+
+    public enum KeyDistribution { RANDOM, ASCENDING, DESCENDING }
+
+    /**
+     * Generate the keys 1..n in the requested order.
+     */
+    static int[] generateKeys(int n, KeyDistribution distribution, long seed) {
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = distribution == KeyDistribution.DESCENDING ? n - i : i + 1;
+        }
+        if (distribution == KeyDistribution.RANDOM) {
+            Random random = new Random(seed);
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = temp;
+            }
+        }
+        return keys;
+    }
+
+    @State(Scope.Thread)
+    public static class HeapState {
+        @Param({"10000", "100000", "464646"})
+        public int heapSize;
+
+        @Param({"2", "3", "10", "1000"})
+        public int nodesToCut;
+
+        @Param({"RANDOM", "ASCENDING", "DESCENDING"})
+        public KeyDistribution distribution;
+
+        public int[] keys;
+        public FibonacciHeap heap;
+        public FibonacciHeap.HeapNode[] nodes;
+
+        // Per-invocation operands, chosen so that every operation is valid
+        public FibonacciHeap.HeapNode[] targets = new FibonacciHeap.HeapNode[OPS];
+        public int[] diffs = new int[OPS];
+        public FibonacciHeap[] singletons = new FibonacciHeap[OPS];
+        private Random random;
+
+        void generate() {
+            keys = generateKeys(heapSize, distribution, 42);
+            random = new Random(7);
+        }
+
+        /**
+         * Build a heap from keys and consolidate it once, as exp1 and exp2 do,
+         * so that operations run against trees rather than a flat root list.
+         */
+        void build() {
+            heap = new FibonacciHeap(nodesToCut);
+            nodes = new FibonacciHeap.HeapNode[heapSize];
+            for (int i = 0; i < heapSize; i++) {
+                nodes[i] = heap.insert(keys[i], "");
+            }
+            heap.deleteMin();
+        }
+
+        /**
+         * Pick OPS distinct live nodes (never the current min).
+         */
+        void pickTargets() {
+            Set<FibonacciHeap.HeapNode> picked = new HashSet<>();
+            int i = 0;
+            while (i < OPS) {
+                FibonacciHeap.HeapNode node = nodes[random.nextInt(heapSize)];
+                if (node.key > 1 && node != heap.findMin() && picked.add(node)) {
+                    targets[i] = node;
+                    diffs[i] = Math.max(1, node.key / 2);
+                    i++;
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TrialHeap extends HeapState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            generate();
+            build();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InvocationHeap extends HeapState {
+        @Setup(Level.Trial)
+        public void prepare() {
+            generate();
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            build();
+            pickTargets();
+            for (int i = 0; i < OPS; i++) {
+                singletons[i] = new FibonacciHeap(nodesToCut);
+                singletons[i].insert(heapSize + i + 1, "");
+            }
+        }
+    }
+
+    /**
+     * Classic hold model: the heap stays at heapSize items while each step
+     * inserts min + random(0 .. spread-1) and deletes the minimum.
+     * insertBuffer is the FibonacciHeap insert buffer capacity.
+     */
+    @State(Scope.Thread)
+    public static class HoldState {
+        @Param({"1000", "100000"})
+        public int heapSize;
+
+        @Param({"0", "8"})
+        public int insertBuffer;
+
+        @Param({"2", "16"})
+        public int spread;
+
+        public FibonacciHeap heap;
+        public Random random;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            random = new Random(7);
+            heap = FibonacciHeap.of(generateKeys(heapSize, KeyDistribution.RANDOM, 42), 2);
+            heap.deleteMin();
+            heap.setInsertBuffer(insertBuffer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void hold(HoldState s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        Random random = s.random;
+        for (int i = 0; i < OPS; i++) {
+            heap.insert(heap.findMin().key + random.nextInt(s.spread), "");
+            bh.consume(heap.deleteMin());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void insert(InvocationHeap s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        int base = s.heapSize;
+        for (int i = 1; i <= OPS; i++) {
+            bh.consume(heap.insert(base + i, ""));
+        }
+    }
+
+    @Benchmark
+    public FibonacciHeap buildByInsert(TrialHeap s) {
+        FibonacciHeap heap = new FibonacciHeap(s.nodesToCut);
+        for (int key : s.keys) {
+            heap.insert(key, "");
+        }
+        return heap;
+    }
+
+    @Benchmark
+    public FibonacciHeap buildByInsertAll(TrialHeap s) {
+        return FibonacciHeap.of(s.keys, s.nodesToCut);
+    }
+
+    /**
+     * insertAll followed by the first deleteMin, i.e. the serial cost of a
+     * heap that is consolidated and ready, to compare with buildParallel.
+     */
+    @Benchmark
+    public FibonacciHeap buildByInsertAllThenDeleteMin(TrialHeap s) {
+        FibonacciHeap heap = FibonacciHeap.of(s.keys, s.nodesToCut);
+        heap.deleteMin();
+        return heap;
+    }
+
+    @Benchmark
+    public FibonacciHeap buildParallel(TrialHeap s) {
+        return FibonacciHeap.parallelOf(s.keys, s.nodesToCut);
+    }
+
+    @Benchmark
+    public FibonacciHeap.HeapNode findMin(TrialHeap s) {
+        return s.heap.findMin();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void deleteMin(InvocationHeap s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        for (int i = 0; i < OPS; i++) {
+            bh.consume(heap.deleteMin());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void decreaseKey(InvocationHeap s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        FibonacciHeap.HeapNode[] targets = s.targets;
+        int[] diffs = s.diffs;
+        for (int i = 0; i < OPS; i++) {
+            bh.consume(heap.decreaseKey(targets[i], diffs[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void delete(InvocationHeap s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        FibonacciHeap.HeapNode[] targets = s.targets;
+        for (int i = 0; i < OPS; i++) {
+            bh.consume(heap.delete(targets[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPS)
+    public void meld(InvocationHeap s, Blackhole bh) {
+        FibonacciHeap heap = s.heap;
+        FibonacciHeap[] singletons = s.singletons;
+        for (int i = 0; i < OPS; i++) {
+            heap.meld(singletons[i]);
+        }
+        bh.consume(heap.size());
+    }
+}
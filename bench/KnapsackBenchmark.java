@@ -0,0 +1,129 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * JMH time to solve a synthetic 0/1 knapsack instance by best-first branch
+ * and bound on WorkStealingScheduler, for a range of worker counts.
+ *
+ * Items are strongly correlated (value = weight + 100), which keeps the
+ * fractional bound loose and the search tree large. Search nodes are keyed
+ * by (total value + 1 - fractional upper bound), so the heap minimum is the
+ * most promising node, and every expanded node offers its value as an
+ * incumbent through improveBound. workers = 1 is the sequential baseline;
+ * compare the scores of the larger counts against it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KnapsackBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"40"})
+    public int items;
+
+    @Param({"2"})
+    public int nodesToCut;
+
+    private Knapsack knapsack;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        knapsack = Knapsack.random(items, new Random(7));
+    }
+
+    @Benchmark
+    public int solve() {
+        return knapsack.solve(workers, nodesToCut);
+    }
+
+    /**
+     * A knapsack instance with its items sorted by decreasing value density.
+     */
+    static final class Knapsack {
+        final int[] weights;
+        final int[] values;
+        final int capacity;
+        final int limit; // larger than any upper bound, so keys stay positive
+
+        Knapsack(int[] weights, int[] values, int capacity) {
+            Integer[] order = new Integer[weights.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare((long) values[b] * weights[a], (long) values[a] * weights[b]));
+            this.weights = new int[weights.length];
+            this.values = new int[values.length];
+            int total = 0;
+            for (int i = 0; i < order.length; i++) {
+                this.weights[i] = weights[order[i]];
+                this.values[i] = values[order[i]];
+                total += values[order[i]];
+            }
+            this.capacity = capacity;
+            this.limit = total + 1;
+        }
+
+        static Knapsack random(int n, Random random) {
+            int[] weights = new int[n];
+            int[] values = new int[n];
+            int totalWeight = 0;
+            for (int i = 0; i < n; i++) {
+                weights[i] = 10 + random.nextInt(1000);
+                values[i] = weights[i] + 100;
+                totalWeight += weights[i];
+            }
+            return new Knapsack(weights, values, totalWeight / 2);
+        }
+
+        /**
+         * Return the best total value, searching with the given number of
+         * workers.
+         */
+        int solve(int workers, int c) {
+            WorkStealingScheduler<int[]> scheduler = new WorkStealingScheduler<>(workers, c);
+            // A search node is {next item, weight so far, value so far}
+            scheduler.run(key(0, 0, 0), new int[] {0, 0, 0}, (key, node, worker) -> {
+                int level = node[0];
+                int weight = node[1];
+                int value = node[2];
+                worker.improveBound(limit - value);
+                if (level == weights.length) {
+                    return;
+                }
+                if (weight + weights[level] <= capacity) {
+                    int taken = weight + weights[level];
+                    int takenValue = value + values[level];
+                    worker.push(key(level + 1, taken, takenValue), new int[] {level + 1, taken, takenValue});
+                }
+                worker.push(key(level + 1, weight, value), new int[] {level + 1, weight, value});
+            });
+            return limit - scheduler.pruneKey();
+        }
+
+        /**
+         * Heap key of a node: limit minus the fractional upper bound.
+         */
+        int key(int level, int weight, int value) {
+            double bound = value;
+            int room = capacity - weight;
+            for (int i = level; i < weights.length; i++) {
+                if (weights[i] <= room) {
+                    room -= weights[i];
+                    bound += values[i];
+                } else {
+                    bound += (double) values[i] * room / weights[i];
+                    break;
+                }
+            }
+            return limit - (int) bound;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * JMH throughput of FibonacciMultiQueue against a single FibonacciHeap
+ * behind one lock, under a shared insert/deleteMin load.
+ *
+ * shardsPerThread is multiplied by the JMH thread count to size the
+ * MultiQueue. Run once per thread count, e.g.
+ *
+ *   for t in 1 2 4 8 16 32; do
+ *     bench/jmh.sh MultiQueueBenchmark -t $t
+ *   done
+ *
+ * The price of the relaxation, the rank error of deleteMin, is measured by
+ * Experiments.multiQueueRankError.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiQueueBenchmark {
+
+    static final int KEY_RANGE = 1 << 20;
+
+    public enum Implementation { MULTI_QUEUE, LOCKED_HEAP }
+
+    @Param({"MULTI_QUEUE", "LOCKED_HEAP"})
+    public Implementation implementation;
+
+    @Param({"2", "4"})
+    public int shardsPerThread;
+
+    @Param({"100000"})
+    public int initialSize;
+
+    private FibonacciMultiQueue multiQueue;
+    private FibonacciHeap heap;
+    private final ReentrantLock heapLock = new ReentrantLock();
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkParams params) {
+        Random random = new Random(42);
+        multiQueue = new FibonacciMultiQueue(shardsPerThread * params.getThreads(), 2);
+        heap = new FibonacciHeap(2);
+        for (int i = 0; i < initialSize; i++) {
+            int key = 1 + random.nextInt(KEY_RANGE);
+            if (implementation == Implementation.MULTI_QUEUE) {
+                multiQueue.insert(key, "");
+            } else {
+                heap.insert(key, "");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public FibonacciHeap.HeapNode insertDeleteMin() {
+        int key = 1 + ThreadLocalRandom.current().nextInt(KEY_RANGE);
+        if (implementation == Implementation.MULTI_QUEUE) {
+            multiQueue.insert(key, "");
+            return multiQueue.deleteMin();
+        }
+        heapLock.lock();
+        try {
+            heap.insert(key, "");
+            FibonacciHeap.HeapNode min = heap.findMin();
+            heap.deleteMin();
+            return min;
+        } finally {
+            heapLock.unlock();
+        }
+    }
+}
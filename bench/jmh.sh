@@ -0,0 +1,42 @@
+#!/bin/sh
+# Builds and runs the JMH benchmarks in bench/. Arguments go to
+# org.openjdk.jmh.Main, e.g.
+#
+#   bench/jmh.sh FibonacciHeapBenchmark -prof gc
+#   bench/jmh.sh ConcurrentHeapBenchmark -t 8
+#
+# Needs JDK 22 or later, since the sources use java.lang.foreign, and curl to
+# fetch the JMH jars into bench/build/lib on the first run. On JDK 21 run
+#
+#   JAVAC_OPTS="--release 21 --enable-preview" JAVA_OPTS=--enable-preview \
+#       bench/jmh.sh FibonacciHeapBenchmark -jvmArgsAppend --enable-preview
+#
+# JMH rejects benchmarks in the default package, and a named package cannot
+# import the default-package heaps, so src/ and bench/ are copied into one
+# package "bench" under bench/build and compiled together there.
+set -e
+
+JMH_VERSION=1.37
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+BUILD=$ROOT/bench/build
+REPO=https://repo1.maven.org/maven2
+
+mkdir -p "$BUILD/lib"
+for jar in \
+    org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar \
+    org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar \
+    net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar \
+    org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar
+do
+    [ -f "$BUILD/lib/${jar##*/}" ] || curl -sSfLo "$BUILD/lib/${jar##*/}" "$REPO/$jar"
+done
+# javac does not expand lib/* in -processorpath, so list the jars
+CP=$(ls "$BUILD"/lib/*.jar | tr '\n' ':')
+
+rm -rf "$BUILD/src" "$BUILD/classes"
+mkdir -p "$BUILD/src/bench" "$BUILD/classes"
+for f in "$ROOT"/src/*.java "$ROOT"/bench/*.java; do
+    { echo "package bench;"; cat "$f"; } > "$BUILD/src/bench/${f##*/}"
+done
+javac $JAVAC_OPTS -cp "$CP" -processorpath "$CP" -d "$BUILD/classes" "$BUILD"/src/bench/*.java
+exec java $JAVA_OPTS -cp "$BUILD/classes:$CP" org.openjdk.jmh.Main "$@"
@@ -0,0 +1,568 @@
+import java.util.Arrays;
+
+/**
+ * ArrayFibonacciHeap
+ *
+ * A Fibonacci heap over integers that stores its nodes as parallel int arrays
+ * (struct-of-arrays) instead of HeapNode objects. A node is identified by an
+ * int handle, which is its index into the arrays.
+ *
+ * Supports the same operations and counters as FibonacciHeap, including the
+ * generalized cascading-cut parameter c (nodesToCut).
+ *
+ * Handles of deleted nodes are recycled by later inserts, so a handle must not
+ * be used after its node has left the heap. decreaseKey and delete reject a
+ * handle whose slot is free, but cannot tell a reused slot from the node it
+ * held before.
+ *
+ */
+public class ArrayFibonacciHeap
+{
+	public static final int NIL = -1;
+
+	// Bits in mark[] that flag a loser and a free slot; the low bits hold the mark count
+	private static final int LOSER = 1 << 31;
+	private static final int FREED = 1 << 30;
+	private static final int MARK_CNT = ~(LOSER | FREED);
+
+	private int[] key;
+	private int[] parent;
+	private int[] child;
+	private int[] next;
+	private int[] prev;
+	private int[] rank;
+	private int[] mark;
+
+	private int min = NIL;
+	private int size;
+	private int length;
+	private final int nodesToCut;
+	private int totalLinksCount;
+	private int totalCutsCount;
+
+	// Slots in [0, used) have been handed out; freed slots are chained through next[]
+	private int used;
+	private int freeList = NIL;
+
+	// Reusable consolidation state: roots indexed by rank, plus a bitmap of filled slots
+	private int[] rankTable = new int[64];
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public ArrayFibonacciHeap(int c)
+	{
+		this(c, 16);
+	}
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap with room for initialCapacity
+	 * nodes before the arrays need to grow.
+	 * pre: c >= 2, initialCapacity > 0.
+	 *
+	 */
+	public ArrayFibonacciHeap(int c, int initialCapacity)
+	{
+		this.nodesToCut = c;
+		this.key = new int[initialCapacity];
+		this.parent = new int[initialCapacity];
+		this.child = new int[initialCapacity];
+		this.next = new int[initialCapacity];
+		this.prev = new int[initialCapacity];
+		this.rank = new int[initialCapacity];
+		this.mark = new int[initialCapacity];
+		Arrays.fill(rankTable, NIL);
+	}
+
+	/**
+	 * Grow every node array to at least minCapacity slots.
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= key.length) return;
+		int newCapacity = Math.max(minCapacity, key.length + (key.length >> 1) + 1);
+		key = Arrays.copyOf(key, newCapacity);
+		parent = Arrays.copyOf(parent, newCapacity);
+		child = Arrays.copyOf(child, newCapacity);
+		next = Arrays.copyOf(next, newCapacity);
+		prev = Arrays.copyOf(prev, newCapacity);
+		rank = Arrays.copyOf(rank, newCapacity);
+		mark = Arrays.copyOf(mark, newCapacity);
+	}
+
+	/**
+	 * Take a slot from the free list, or append a new one.
+	 */
+	private int allocate() {
+		int x = freeList;
+		if (x != NIL) {
+			freeList = next[x];
+		} else {
+			ensureCapacity(used + 1);
+			x = used++;
+		}
+		parent[x] = NIL;
+		child[x] = NIL;
+		rank[x] = 0;
+		mark[x] = 0;
+		return x;
+	}
+
+	/**
+	 * Return slot x to the free list.
+	 */
+	private void release(int x) {
+		parent[x] = NIL;
+		child[x] = NIL;
+		prev[x] = NIL;
+		mark[x] = FREED;
+		next[x] = freeList;
+		freeList = x;
+	}
+
+	/**
+	 * Return true if x is the handle of a node in the heap.
+	 */
+	private boolean isLive(int x) {
+		return x >= 0 && x < used && (mark[x] & FREED) == 0;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert key into the heap and return the handle of the new node.
+	 *
+	 */
+	public int insert(int k)
+	{
+		if (k <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+
+		int x = allocate();
+		key[x] = k;
+
+		if (min == NIL) {
+			next[x] = x;
+			prev[x] = x;
+			min = x;
+			length = 1;
+		} else {
+			addToRootList(x);
+			if (k < key[min]) {
+				min = x;
+			}
+		}
+
+		size++;
+		return x;
+	}
+
+	/**
+	 * Insert x into the root list, next to min. O(1).
+	 */
+	private void addToRootList(int x) {
+		if (length == 0) {
+			next[x] = x;
+			prev[x] = x;
+		} else {
+			prev[x] = min;
+			next[x] = next[min];
+			prev[next[min]] = x;
+			next[min] = x;
+		}
+		length++;
+	}
+
+	/**
+	 * Unhook x from the sibling list it is in.
+	 */
+	private void unlink(int x) {
+		next[prev[x]] = next[x];
+		prev[next[x]] = prev[x];
+	}
+
+	/**
+	 *
+	 * Return the handle of the minimal node, NIL if empty.
+	 *
+	 */
+	public int findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Return the key of node x.
+	 *
+	 */
+	public int key(int x)
+	{
+		return key[x];
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		int z = min;
+		int links = 0;
+		if (z != NIL) {
+			if (child[z] != NIL) {
+				addChildrenToRootList(z);
+			}
+
+			if (next[z] == z) {
+				min = NIL;
+				length = 0;
+			} else {
+				min = next[z];
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+			release(z);
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(int z) {
+		int first = child[z];
+		int c = first;
+		int children = 0;
+		do {
+			parent[c] = NIL;
+			children++;
+			c = next[c];
+		} while (c != first);
+
+		int last = prev[first];
+		int before = prev[z];
+		next[before] = first;
+		prev[first] = before;
+		next[last] = z;
+		prev[z] = last;
+		child[z] = NIL;
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index r is valid.
+	 */
+	private void ensureRankCapacity(int r) {
+		if (r < rankTable.length) return;
+		int oldLength = rankTable.length;
+		int newLength = oldLength;
+		while (newLength <= r) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		Arrays.fill(rankTable, oldLength, newLength, NIL);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private int consolidate() {
+		int links = 0;
+		int x = min;
+		int roots = length;
+		for (int i = 0; i < roots; i++) {
+			int nextRoot = next[x];
+			int r = rank[x];
+
+			while (true) {
+				ensureRankCapacity(r);
+				int y = rankTable[r];
+				if (y == NIL) break;
+
+				if (key[x] > key[y]) {
+					int temp = x;
+					x = y;
+					y = temp;
+				}
+				link(y, x);
+				links++;
+				rankTable[r] = NIL;
+				rankOccupied[r >>> 6] &= ~(1L << r);
+				r++;
+			}
+
+			rankTable[r] = x;
+			rankOccupied[r >>> 6] |= 1L << r;
+			x = nextRoot;
+		}
+
+		min = NIL;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int r = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				int root = rankTable[r];
+				rankTable[r] = NIL;
+				addToRootList(root);
+				if (min == NIL || key[root] < key[min]) {
+					min = root;
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(int y, int x) {
+		unlink(y);
+		parent[y] = x;
+		int c = child[x];
+		if (c == NIL) {
+			child[x] = y;
+			next[y] = y;
+			prev[y] = y;
+		} else {
+			next[y] = c;
+			prev[y] = prev[c];
+			next[prev[c]] = y;
+			prev[c] = y;
+		}
+		rank[x]++;
+		mark[y] &= ~LOSER;
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(int x, int y) {
+		if (next[x] == x) {
+			child[y] = NIL;
+		} else {
+			if (child[y] == x) {
+				child[y] = next[x];
+			}
+			unlink(x);
+		}
+		rank[y]--;
+		addToRootList(x);
+		parent[x] = NIL;
+		mark[x] &= ~LOSER;
+		mark[y]++;
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(int y) {
+		int cuts = 0;
+		int p = parent[y];
+		while (p != NIL) {
+			if ((mark[y] & LOSER) == 0) {
+				if ((mark[y] & MARK_CNT) >= nodesToCut - 1) {
+					mark[y] |= LOSER;
+				}
+				break;
+			}
+			cut(y, p);
+			mark[y] = 0;
+			cuts++;
+			y = p;
+			p = parent[y];
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=key(x)
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(int x, int diff)
+	{
+		if (!isLive(x) || diff <= 0 || diff > key[x]) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		key[x] -= diff;
+		int p = parent[x];
+		int cuts = 0;
+		if (p != NIL && key[x] < key[p]) {
+			cut(x, p);
+			cuts = 1 + cascadingCut(p);
+		}
+		if (key[x] < key[min]) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 * x is cut from its parent (cascading by the usual c rule), its children
+	 * are spliced into the root list and x is unlinked. Only when x was the
+	 * minimum is the root list consolidated. The key of x is never changed.
+	 *
+	 */
+	public int delete(int x)
+	{
+		if (!isLive(x)) {
+			throw new IllegalArgumentException("Invalid delete operation");
+		}
+		if (x == min) {
+			return deleteMin();
+		}
+
+		int p = parent[x];
+		if (p != NIL) {
+			cut(x, p);
+			cascadingCut(p);
+		}
+		// x is now a root other than min, so min stays valid
+		if (child[x] != NIL) {
+			addChildrenToRootList(x);
+		}
+		unlink(x);
+		length--;
+		size--;
+		release(x);
+		return 0;
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2 by copying its node arrays into this heap.
+	 * Return the offset to add to heap2's handles to get their handles in
+	 * this heap. heap2 must not be used afterwards.
+	 *
+	 */
+	public int meld(ArrayFibonacciHeap heap2)
+	{
+		int offset = used;
+		if (heap2 == null || heap2.used == 0) {
+			return offset;
+		}
+
+		int n = heap2.used;
+		ensureCapacity(used + n);
+		System.arraycopy(heap2.key, 0, key, offset, n);
+		System.arraycopy(heap2.rank, 0, rank, offset, n);
+		System.arraycopy(heap2.mark, 0, mark, offset, n);
+		shiftInto(heap2.parent, parent, offset, n);
+		shiftInto(heap2.child, child, offset, n);
+		shiftInto(heap2.next, next, offset, n);
+		shiftInto(heap2.prev, prev, offset, n);
+		used += n;
+
+		// Chain heap2's free slots behind ours
+		if (heap2.freeList != NIL) {
+			int tail = heap2.freeList + offset;
+			while (next[tail] != NIL) {
+				tail = next[tail];
+			}
+			next[tail] = freeList;
+			freeList = heap2.freeList + offset;
+		}
+
+		if (heap2.min != NIL) {
+			int otherMin = heap2.min + offset;
+			if (min == NIL) {
+				min = otherMin;
+			} else {
+				int thisLast = prev[min];
+				int otherLast = prev[otherMin];
+				next[thisLast] = otherMin;
+				prev[otherMin] = thisLast;
+				next[otherLast] = min;
+				prev[min] = otherLast;
+				if (key[otherMin] < key[min]) {
+					min = otherMin;
+				}
+			}
+		}
+
+		size += heap2.size;
+		length += heap2.length;
+		totalLinksCount += heap2.totalLinksCount;
+		totalCutsCount += heap2.totalCutsCount;
+		return offset;
+	}
+
+	/**
+	 * Copy n handles from src to dst at offset, keeping NIL as NIL.
+	 */
+	private static void shiftInto(int[] src, int[] dst, int offset, int n) {
+		for (int i = 0; i < n; i++) {
+			int h = src[i];
+			dst[offset + i] = h == NIL ? NIL : h + offset;
+		}
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return length;
+	}
+}
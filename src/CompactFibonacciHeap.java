@@ -0,0 +1,490 @@
+import java.util.Arrays;
+
+/**
+ * CompactFibonacciHeap
+ *
+ * A Fibonacci heap over int keys whose nodes carry only what the structure
+ * needs: the key, one packed int of bookkeeping and the four links. Rank,
+ * mark count and the loser flag, three separate fields in
+ * FibonacciHeap.HeapNode, share one int here; the info string and the
+ * generation counter are gone. A payload is optional: insert(key) returns a
+ * bare Node, insert(key, value) a ValueNode that adds a single reference.
+ *
+ * With compressed oops both Node and ValueNode take 40 bytes (the payload
+ * fills the alignment gap), against 48 for FibonacciHeap.HeapNode, as
+ * measured by Experiments.bytesPerNode.
+ *
+ */
+public class CompactFibonacciHeap
+{
+	// Node.state layout: rank in the low 16 bits, mark count in the next 15
+	// (saturating), loser flag in the sign bit
+	private static final int RANK_MASK = 0xFFFF;
+	private static final int MARK_SHIFT = 16;
+	private static final int MARK_MAX = (1 << 15) - 1;
+	private static final int MARK_MASK = MARK_MAX << MARK_SHIFT;
+	private static final int LOSER = 1 << 31;
+
+	public Node min;
+	private int size;
+	private int length;
+	private final int nodesToCut;
+	private int totalLinksCount;
+	private int totalCutsCount;
+	// Reusable consolidation state: trees indexed by rank, plus a bitmap of filled slots
+	private Node[] rankTable = new Node[64];
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: 2 <= c <= 2^15.
+	 *
+	 */
+	public CompactFibonacciHeap(int c)
+	{
+		if (c < 2 || c - 1 > MARK_MAX) {
+			throw new IllegalArgumentException("c must be between 2 and 2^15");
+		}
+		this.nodesToCut = c;
+	}
+
+	static int rank(Node x) {
+		return x.state & RANK_MASK;
+	}
+
+	static int markCnt(Node x) {
+		return (x.state & MARK_MASK) >>> MARK_SHIFT;
+	}
+
+	static boolean isLoser(Node x) {
+		return x.state < 0;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert key into the heap and return the newly generated Node.
+	 *
+	 */
+	public Node insert(int key)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+
+		Node node = new Node();
+		node.key = key;
+		addNode(node);
+		return node;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert (key,value) into the heap and return the newly generated ValueNode.
+	 *
+	 */
+	public <V> ValueNode<V> insert(int key, V value)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+
+		ValueNode<V> node = new ValueNode<>();
+		node.key = key;
+		node.value = value;
+		addNode(node);
+		return node;
+	}
+
+	/**
+	 * Add a fresh node to the root list and update min and size.
+	 */
+	private void addNode(Node node) {
+		if (min == null) {
+			min = node;
+			node.next = node;
+			node.prev = node;
+			length = 1;
+		} else {
+			addToRootList(node);
+			if (node.key < min.key) {
+				min = node;
+			}
+		}
+		size++;
+	}
+
+	/**
+	 * Insert node into the root list, next to min. O(1).
+	 */
+	private void addToRootList(Node node) {
+		node.prev = min;
+		node.next = min.next;
+		min.next.prev = node;
+		min.next = node;
+		length++;
+	}
+
+	/**
+	 * Unhook node from the sibling list it is in.
+	 */
+	private static void unlink(Node node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	/**
+	 *
+	 * Return the minimal Node, null if empty.
+	 *
+	 */
+	public Node findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		Node z = min;
+		int links = 0;
+		if (z != null) {
+			if (z.child != null) {
+				addChildrenToRootList(z);
+			}
+
+			if (z.next == z) {
+				min = null;
+				length = 0;
+			} else {
+				min = z.next;
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(Node z) {
+		Node first = z.child;
+		Node c = first;
+		int children = 0;
+		do {
+			c.parent = null;
+			children++;
+			c = c.next;
+		} while (c != first);
+
+		Node last = first.prev;
+		Node before = z.prev;
+		before.next = first;
+		first.prev = before;
+		last.next = z;
+		z.prev = last;
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index rank is valid.
+	 */
+	private void ensureRankCapacity(int rank) {
+		if (rank < rankTable.length) return;
+		int newLength = rankTable.length;
+		while (newLength <= rank) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private int consolidate() {
+		int links = 0;
+		Node node = min;
+		int roots = length;
+		for (int i = 0; i < roots; i++) {
+			Node nextRoot = node.next;
+			int rank = rank(node);
+
+			while (true) {
+				ensureRankCapacity(rank);
+				Node other = rankTable[rank];
+				if (other == null) break;
+
+				if (node.key > other.key) {
+					Node temp = node;
+					node = other;
+					other = temp;
+				}
+				link(other, node);
+				links++;
+				rankTable[rank] = null;
+				rankOccupied[rank >>> 6] &= ~(1L << rank);
+				rank++;
+			}
+
+			rankTable[rank] = node;
+			rankOccupied[rank >>> 6] |= 1L << rank;
+			node = nextRoot;
+		}
+
+		min = null;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int rank = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				Node root = rankTable[rank];
+				rankTable[rank] = null;
+				if (min == null) {
+					min = root;
+					root.next = root;
+					root.prev = root;
+					length = 1;
+				} else {
+					addToRootList(root);
+					if (root.key < min.key) {
+						min = root;
+					}
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(Node y, Node x) {
+		if (rank(x) == RANK_MASK) {
+			throw new IllegalStateException("Rank overflow");
+		}
+		unlink(y);
+		y.parent = x;
+		if (x.child == null) {
+			x.child = y;
+			y.next = y;
+			y.prev = y;
+		} else {
+			y.next = x.child;
+			y.prev = x.child.prev;
+			x.child.prev.next = y;
+			x.child.prev = y;
+		}
+		x.state++; // rank lives in the low bits
+		y.state &= ~LOSER;
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(Node x, Node y) {
+		if (x.next == x) {
+			y.child = null;
+		} else {
+			if (y.child == x) {
+				y.child = x.next;
+			}
+			unlink(x);
+		}
+		y.state--; // rank
+		addToRootList(x);
+		x.parent = null;
+		x.state &= ~LOSER;
+		if (markCnt(y) < MARK_MAX) {
+			y.state += 1 << MARK_SHIFT;
+		}
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(Node y) {
+		int cuts = 0;
+		Node parent = y.parent;
+		while (parent != null) {
+			if (!isLoser(y)) {
+				if (markCnt(y) >= nodesToCut - 1) {
+					y.state |= LOSER;
+				}
+				break;
+			}
+			cut(y, parent);
+			y.state &= ~MARK_MASK;
+			cuts++;
+			y = parent;
+			parent = y.parent;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=x.key
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(Node x, int diff)
+	{
+		if (x == null || diff <= 0 || diff > x.key) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		x.key -= diff;
+		Node parent = x.parent;
+		int cuts = 0;
+		if (parent != null && x.key < parent.key) {
+			cut(x, parent);
+			cuts = 1 + cascadingCut(parent);
+		}
+		if (x.key < min.key) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(Node x)
+	{
+		// x is moved to the root list and treated as the minimum; its key is
+		// left untouched
+		Node parent = x.parent;
+		if (parent != null) {
+			cut(x, parent);
+			cascadingCut(parent);
+		}
+		min = x;
+		return deleteMin();
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2
+	 *
+	 */
+	public void meld(CompactFibonacciHeap heap2)
+	{
+		if (heap2 == null || heap2.min == null) {
+			return;
+		}
+
+		if (min == null) {
+			min = heap2.min;
+		} else {
+			Node thisLast = min.prev;
+			Node heap2Last = heap2.min.prev;
+			thisLast.next = heap2.min;
+			heap2.min.prev = thisLast;
+			heap2Last.next = min;
+			min.prev = heap2Last;
+			if (heap2.min.key < min.key) {
+				min = heap2.min;
+			}
+		}
+
+		size += heap2.size;
+		length += heap2.length;
+		totalLinksCount += heap2.totalLinksCount;
+		totalCutsCount += heap2.totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return length;
+	}
+
+	/**
+	 * A node of a CompactFibonacciHeap without payload.
+	 *
+	 * The sibling links come first so that walking a root or child list
+	 * touches the same part of each node. HotSpot may still reorder fields
+	 * of equal size, so this is a hint rather than a guarantee.
+	 *
+	 */
+	public static class Node{
+		public int key;
+		int state;
+		Node next;
+		Node prev;
+		Node child;
+		Node parent;
+
+		public int rank() {
+			return CompactFibonacciHeap.rank(this);
+		}
+	}
+
+	/**
+	 * A node of a CompactFibonacciHeap carrying a payload.
+	 *
+	 */
+	public static class ValueNode<V> extends Node{
+		public V value;
+	}
+}
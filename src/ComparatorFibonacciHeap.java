@@ -0,0 +1,430 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * ComparatorFibonacciHeap
+ *
+ * A Fibonacci heap over arbitrary keys of type K, ordered by a Comparator,
+ * whose nodes carry a typed payload of type V. For int keys prefer
+ * FibonacciHeap or TypedFibonacciHeap, which compare primitives directly.
+ *
+ */
+public class ComparatorFibonacciHeap<K, V>
+{
+	public HeapNode<K, V> min;
+	private int size;
+	private int length;
+	private final int nodesToCut;
+	private final Comparator<? super K> comparator;
+	private int totalLinksCount;
+	private int totalCutsCount;
+	// Reusable consolidation state: trees indexed by rank, plus a bitmap of filled slots
+	private HeapNode<K, V>[] rankTable = newNodeArray(64);
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap ordered by comparator.
+	 * pre: c >= 2, comparator != null.
+	 *
+	 */
+	public ComparatorFibonacciHeap(int c, Comparator<? super K> comparator)
+	{
+		this.nodesToCut = c;
+		this.comparator = comparator;
+	}
+
+	/**
+	 *
+	 * Return an empty heap ordered by the keys' natural ordering.
+	 * pre: c >= 2.
+	 *
+	 */
+	public static <K extends Comparable<? super K>, V> ComparatorFibonacciHeap<K, V> naturalOrder(int c)
+	{
+		return new ComparatorFibonacciHeap<>(c, Comparator.naturalOrder());
+	}
+
+	/**
+	 *
+	 * Insert (key,value) into the heap and return the newly generated HeapNode.
+	 *
+	 */
+	public HeapNode<K, V> insert(K key, V value)
+	{
+		HeapNode<K, V> node = new HeapNode<>();
+		node.key = key;
+		node.value = value;
+
+		if (min == null) {
+			min = node;
+			node.next = node;
+			node.prev = node;
+			length = 1;
+		} else {
+			addToRootList(node);
+			if (comparator.compare(key, min.key) < 0) {
+				min = node;
+			}
+		}
+
+		size++;
+		return node;
+	}
+
+	/**
+	 * Insert node into the root list, next to min. O(1).
+	 */
+	private void addToRootList(HeapNode<K, V> node) {
+		if (length == 0) {
+			node.next = node;
+			node.prev = node;
+		} else {
+			node.prev = min;
+			node.next = min.next;
+			min.next.prev = node;
+			min.next = node;
+		}
+		length++;
+	}
+
+	/**
+	 * Unhook node from the sibling list it is in.
+	 */
+	private static <K, V> void unlink(HeapNode<K, V> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	/**
+	 *
+	 * Return the minimal HeapNode, null if empty.
+	 *
+	 */
+	public HeapNode<K, V> findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		HeapNode<K, V> z = min;
+		int links = 0;
+		if (z != null) {
+			if (z.child != null) {
+				addChildrenToRootList(z);
+			}
+
+			if (z.next == z) {
+				min = null;
+				length = 0;
+			} else {
+				min = z.next;
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(HeapNode<K, V> z) {
+		HeapNode<K, V> first = z.child;
+		HeapNode<K, V> c = first;
+		int children = 0;
+		do {
+			c.parent = null;
+			children++;
+			c = c.next;
+		} while (c != first);
+
+		HeapNode<K, V> last = first.prev;
+		HeapNode<K, V> before = z.prev;
+		before.next = first;
+		first.prev = before;
+		last.next = z;
+		z.prev = last;
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index rank is valid.
+	 */
+	private void ensureRankCapacity(int rank) {
+		if (rank < rankTable.length) return;
+		int newLength = rankTable.length;
+		while (newLength <= rank) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private int consolidate() {
+		int links = 0;
+		HeapNode<K, V> node = min;
+		int roots = length;
+		for (int i = 0; i < roots; i++) {
+			HeapNode<K, V> nextRoot = node.next;
+			int rank = node.rank;
+
+			while (true) {
+				ensureRankCapacity(rank);
+				HeapNode<K, V> other = rankTable[rank];
+				if (other == null) break;
+
+				if (comparator.compare(node.key, other.key) > 0) {
+					HeapNode<K, V> temp = node;
+					node = other;
+					other = temp;
+				}
+				link(other, node);
+				links++;
+				rankTable[rank] = null;
+				rankOccupied[rank >>> 6] &= ~(1L << rank);
+				rank++;
+			}
+
+			rankTable[rank] = node;
+			rankOccupied[rank >>> 6] |= 1L << rank;
+			node = nextRoot;
+		}
+
+		min = null;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int rank = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				HeapNode<K, V> root = rankTable[rank];
+				rankTable[rank] = null;
+				addToRootList(root);
+				if (min == null || comparator.compare(root.key, min.key) < 0) {
+					min = root;
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(HeapNode<K, V> y, HeapNode<K, V> x) {
+		unlink(y);
+		y.parent = x;
+		if (x.child == null) {
+			x.child = y;
+			y.next = y;
+			y.prev = y;
+		} else {
+			y.next = x.child;
+			y.prev = x.child.prev;
+			x.child.prev.next = y;
+			x.child.prev = y;
+		}
+		x.rank++;
+		y.isLoser = false;
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(HeapNode<K, V> x, HeapNode<K, V> y) {
+		if (x.next == x) {
+			y.child = null;
+		} else {
+			if (y.child == x) {
+				y.child = x.next;
+			}
+			unlink(x);
+		}
+		y.rank--;
+		addToRootList(x);
+		x.parent = null;
+		x.isLoser = false;
+		y.markCnt++;
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(HeapNode<K, V> y) {
+		int cuts = 0;
+		HeapNode<K, V> parent = y.parent;
+		while (parent != null) {
+			if (!y.isLoser) {
+				if (y.markCnt >= nodesToCut - 1) {
+					y.isLoser = true;
+				}
+				break;
+			}
+			cut(y, parent);
+			y.markCnt = 0;
+			cuts++;
+			y = parent;
+			parent = y.parent;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: newKey <= x.key under the comparator
+	 *
+	 * Set the key of x to newKey and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(HeapNode<K, V> x, K newKey)
+	{
+		if (x == null || comparator.compare(newKey, x.key) > 0) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		x.key = newKey;
+		HeapNode<K, V> parent = x.parent;
+		int cuts = 0;
+		if (parent != null && comparator.compare(newKey, parent.key) < 0) {
+			cut(x, parent);
+			cuts = 1 + cascadingCut(parent);
+		}
+		if (comparator.compare(newKey, min.key) < 0) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(HeapNode<K, V> x)
+	{
+		// x is moved to the root list and treated as the minimum, so its key
+		// is left untouched
+		HeapNode<K, V> parent = x.parent;
+		if (parent != null) {
+			cut(x, parent);
+			cascadingCut(parent);
+		}
+		min = x;
+		return deleteMin();
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2
+	 * pre: heap2 orders keys consistently with this heap's comparator
+	 *
+	 */
+	public void meld(ComparatorFibonacciHeap<K, V> heap2)
+	{
+		if (heap2 == null || heap2.min == null) {
+			return;
+		}
+
+		if (min == null) {
+			min = heap2.min;
+		} else {
+			HeapNode<K, V> thisLast = min.prev;
+			HeapNode<K, V> heap2Last = heap2.min.prev;
+			thisLast.next = heap2.min;
+			heap2.min.prev = thisLast;
+			heap2Last.next = min;
+			min.prev = heap2Last;
+			if (comparator.compare(heap2.min.key, min.key) < 0) {
+				min = heap2.min;
+			}
+		}
+
+		size += heap2.size;
+		length += heap2.length;
+		totalLinksCount += heap2.totalLinksCount;
+		totalCutsCount += heap2.totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return length;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <K, V> HeapNode<K, V>[] newNodeArray(int length) {
+		return (HeapNode<K, V>[]) new HeapNode[length];
+	}
+
+	/**
+	 * Class implementing a node in a ComparatorFibonacciHeap.
+	 *
+	 */
+	public static class HeapNode<K, V>{
+		public K key;
+		public V value;
+		public HeapNode<K, V> child;
+		public HeapNode<K, V> next;
+		public HeapNode<K, V> prev;
+		public HeapNode<K, V> parent;
+		public int rank;
+		public boolean isLoser;
+		public int markCnt;
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * DoubleEndedFibonacciHeap
+ *
+ * A double-ended priority queue over positive integers that supports findMax
+ * and deleteMax alongside the usual min operations, decreaseKey and meld.
+ *
+ * Every item is stored twice: once in a min-ordered heap and once, with its
+ * key mirrored (Integer.MAX_VALUE - key), in a second heap whose minimum is
+ * therefore the maximum item. The two nodes point to each other through the
+ * shared Entry, so removing an item from one end deletes its twin from the
+ * other heap directly.
+ *
+ * Amortized bounds: insert, findMin, findMax and meld are O(1); deleteMin,
+ * deleteMax, delete and decreaseKey are O(log n). decreaseKey is O(1) on the
+ * min side but raises the mirrored key on the max side, which costs a delete
+ * and an insert there.
+ *
+ */
+public class DoubleEndedFibonacciHeap
+{
+	private final TypedFibonacciHeap<Entry> minHeap;
+	private final TypedFibonacciHeap<Entry> maxHeap;
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public DoubleEndedFibonacciHeap(int c)
+	{
+		this.minHeap = new TypedFibonacciHeap<>(c);
+		this.maxHeap = new TypedFibonacciHeap<>(c);
+	}
+
+	private static int mirror(int key) {
+		return Integer.MAX_VALUE - key;
+	}
+
+	/**
+	 *
+	 * pre: 0 < key < Integer.MAX_VALUE
+	 *
+	 * Insert (key,info) into the heap and return the newly generated Entry.
+	 *
+	 */
+	public Entry insert(int key, String info)
+	{
+		if (key <= 0 || key == Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Key must be positive and below Integer.MAX_VALUE");
+		}
+		Entry entry = new Entry(info);
+		entry.minNode = minHeap.insert(key, entry);
+		entry.maxNode = maxHeap.insert(mirror(key), entry);
+		return entry;
+	}
+
+	/**
+	 *
+	 * Return the Entry with the minimal key, null if empty.
+	 *
+	 */
+	public Entry findMin()
+	{
+		TypedFibonacciHeap.HeapNode<Entry> node = minHeap.findMin();
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 *
+	 * Return the Entry with the maximal key, null if empty.
+	 *
+	 */
+	public Entry findMax()
+	{
+		TypedFibonacciHeap.HeapNode<Entry> node = maxHeap.findMin();
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		Entry entry = findMin();
+		if (entry == null) {
+			return 0;
+		}
+		int links = minHeap.deleteMin();
+		return links + maxHeap.delete(entry.maxNode);
+	}
+
+	/**
+	 *
+	 * Delete the maximal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMax()
+	{
+		Entry entry = findMax();
+		if (entry == null) {
+			return 0;
+		}
+		int links = maxHeap.deleteMin();
+		return links + minHeap.delete(entry.minNode);
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=x.key()
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts on the min side.
+	 *
+	 */
+	public int decreaseKey(Entry x, int diff)
+	{
+		int cuts = minHeap.decreaseKey(x.minNode, diff);
+		// The mirrored key grows, so the max side re-inserts the twin
+		maxHeap.delete(x.maxNode);
+		x.maxNode = maxHeap.insert(mirror(x.minNode.key), x);
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(Entry x)
+	{
+		return minHeap.delete(x.minNode) + maxHeap.delete(x.maxNode);
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2
+	 *
+	 */
+	public void meld(DoubleEndedFibonacciHeap heap2)
+	{
+		if (heap2 == null) {
+			return;
+		}
+		minHeap.meld(heap2.minHeap);
+		maxHeap.meld(heap2.maxHeap);
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return minHeap.size();
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the min-ordered heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return minHeap.numTrees();
+	}
+
+	/**
+	 *
+	 * Return the total number of links on both sides.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return minHeap.totalLinks() + maxHeap.totalLinks();
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts on both sides.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return minHeap.totalCuts() + maxHeap.totalCuts();
+	}
+
+	/**
+	 * An item of a DoubleEndedFibonacciHeap, linking its node in each heap.
+	 *
+	 */
+	public static class Entry{
+		public final String info;
+		private TypedFibonacciHeap.HeapNode<Entry> minNode;
+		private TypedFibonacciHeap.HeapNode<Entry> maxNode;
+
+		private Entry(String info) {
+			this.info = info;
+		}
+
+		public int key() {
+			return minNode.key;
+		}
+	}
+}
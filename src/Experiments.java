@@ -81,20 +81,116 @@ public class Experiments {
     }
 
 
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Measure the heap bytes per node of FibonacciHeap and CompactFibonacciHeap
+     * by filling each with n items (empty info / null payload) and comparing
+     * used memory before and after. The heaps are kept reachable until the
+     * second measurement.
+     */
+    public static void bytesPerNode() {
+        long before = usedMemory();
+        FibonacciHeap heap = new FibonacciHeap(2);
+        for (int i = 1; i <= n; i++) {
+            heap.insert(i, "");
+        }
+        long fibonacci = usedMemory() - before;
+        System.out.printf("FibonacciHeap.HeapNode: %.1f bytes/node%n", (double) fibonacci / heap.size());
+        heap = null;
+
+        before = usedMemory();
+        CompactFibonacciHeap compact = new CompactFibonacciHeap(2);
+        for (int i = 1; i <= n; i++) {
+            compact.insert(i);
+        }
+        long bare = usedMemory() - before;
+        System.out.printf("CompactFibonacciHeap.Node: %.1f bytes/node%n", (double) bare / compact.size());
+        compact = null;
+
+        before = usedMemory();
+        compact = new CompactFibonacciHeap(2);
+        for (int i = 1; i <= n; i++) {
+            compact.insert(i, null);
+        }
+        long withValue = usedMemory() - before;
+        System.out.printf("CompactFibonacciHeap.ValueNode: %.1f bytes/node%n", (double) withValue / compact.size());
+    }
+
+    /**
+     * Measure how far FibonacciMultiQueue.deleteMin strays from the true
+     * minimum. The queue is filled with n random keys and then runs n hold
+     * steps (insert a random key, deleteMin) on one thread; the rank error of
+     * a deleteMin is the number of queued keys smaller than the one returned,
+     * counted with a Fenwick tree over the key range. Prints mean and max
+     * rank error per shard count.
+     */
+    public static void multiQueueRankError() {
+        final int keyRange = 1 << 20;
+        for (int shards : new int[] { 1, 2, 4, 8, 16, 32, 64 }) {
+            FibonacciMultiQueue queue = new FibonacciMultiQueue(shards, 2);
+            int[] counts = new int[keyRange + 1]; // Fenwick tree of queued keys
+            Random random = new Random(42);
+            for (int i = 0; i < n; i++) {
+                int key = 1 + random.nextInt(keyRange);
+                queue.insert(key, "");
+                for (int j = key; j <= keyRange; j += j & -j) counts[j]++;
+            }
+            long totalError = 0;
+            int maxError = 0;
+            for (int i = 0; i < n; i++) {
+                int key = 1 + random.nextInt(keyRange);
+                queue.insert(key, "");
+                for (int j = key; j <= keyRange; j += j & -j) counts[j]++;
+
+                int deleted = queue.deleteMin().key;
+                int smaller = 0;
+                for (int j = deleted - 1; j > 0; j -= j & -j) smaller += counts[j];
+                for (int j = deleted; j <= keyRange; j += j & -j) counts[j]--;
+                totalError += smaller;
+                maxError = Math.max(maxError, smaller);
+            }
+            System.out.printf("MultiQueue shards=%d: mean rank error %.2f, max %d%n",
+                shards, (double) totalError / n, maxError);
+        }
+    }
+
+    /**
+     * Run the exp2 sweep over c and write results.csv. The optional
+     * measurements run instead when named as an argument:
+     *
+     *   java Experiments bytesPerNode multiQueueRankError
+     */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            for (String arg : args) {
+                switch (arg) {
+                    case "bytesPerNode": bytesPerNode(); break;
+                    case "multiQueueRankError": multiQueueRankError(); break;
+                    default: throw new IllegalArgumentException("Unknown experiment " + arg);
+                }
+            }
+            return;
+        }
         
         final int[] cValues = { 2, 3, 4, 10, 20, 100, 1000, 5000 };
         
         try (PrintWriter writer = new PrintWriter(new FileWriter("results.csv"))) {
             
             // Print table header
-            writer.println("c,TimeMillis,Size,TotalLinks,TotalCuts,NumTrees");
+            writer.println("c,TimeMillis,Size,TotalLinks,TotalCuts,NumTrees,MaxCascadeDepth");
             
             for (int c : cValues) {
                 System.out.println("Currect c: " + c);
                 
                 final int REPS = 20;
-                int durations = 0, sizes = 0, links = 0, cuts = 0, trees = 0;
+                int durations = 0, sizes = 0, links = 0, cuts = 0, trees = 0, depth = 0;
                 for (int i = 0; i < REPS; i++) { // average over REPS exps.
                     
                     // Initialize
@@ -113,11 +209,12 @@ public class Experiments {
                     links += heap.totalLinks();
                     cuts += heap.totalCuts();
                     trees += heap.numTrees();
+                    depth = Math.max(depth, heap.maxCascadeDepth());
                 }
                 
                 // Write values to CSV
-                writer.printf("%d,%d,%d,%d,%d,%d%n",
-                    c, durations/REPS, sizes/REPS, links/REPS, cuts/REPS, trees/REPS);
+                writer.printf("%d,%d,%d,%d,%d,%d,%d%n",
+                    c, durations/REPS, sizes/REPS, links/REPS, cuts/REPS, trees/REPS, depth);
             }
         } catch (IOException e) {
             e.printStackTrace();
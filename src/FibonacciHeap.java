@@ -1,5 +1,7 @@
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.*;
 
 /**
@@ -13,9 +15,54 @@ public class FibonacciHeap
 	public HeapNode min;	
 	private int size;
 	private int length;
-	private final int nodesToCut;
+	private int nodesToCut;
 	private int totalLinksCount;
 	private int totalCutsCount;
+	private int lastCascadeDepth;
+	private int maxCascadeDepth;
+	// Reusable consolidation state: trees indexed by rank, plus a bitmap of filled slots
+	private HeapNode[] rankTable = new HeapNode[64];
+	private long[] rankOccupied = new long[1];
+	// Reusable stack of parents whose child losses decreaseKeyAll has yet to charge,
+	// allocated by the first pushLoss
+	private HeapNode[] lossQueue;
+	// Opt-in node recycling: removed nodes are chained through next into a bounded pool
+	private static final int MAX_POOL_SIZE = 1 << 16;
+	private final boolean recycleNodes;
+	private HeapNode pool;
+	private int poolSize;
+	// Incremental consolidation: when the budget is positive every root is either
+	// settled (filed in rankTable under its rank) or pending. Pending roots sit in
+	// a binary min-heap ordered by pendingKeys, the key each had when pushed, next
+	// to its generation then, so stale entries can be skipped. Entries go stale
+	// lazily and are dropped or refreshed when they reach the top. The arrays are
+	// allocated by the first setConsolidationBudget that turns the mode on.
+	private int consolidationBudget;
+	private HeapNode[] pendingRoots;
+	private int[] pendingGenerations;
+	private int[] pendingKeys;
+	private int pendingCount;
+	private int pendingPushes; // pushed since the last settleRoots, which must pop as many
+	private ConsolidationPolicy consolidationPolicy = ConsolidationPolicy.EAGER;
+	// Adaptive c: hill-climb nodesToCut within [minCut, maxCut] (maxCut == 0 means
+	// off), comparing links + cuts per operation over windows of ADAPT_WINDOW ops
+	static final int ADAPT_WINDOW = 1024;
+	private int adaptiveMinCut;
+	private int adaptiveMaxCut;
+	private long windowOps;
+	private int windowStartWork;
+	private double lastWindowCost = -1;
+	private boolean cutStepUp = true;
+	// Optional insert buffer: up to bufferCapacity freshly inserted nodes kept
+	// out of the root list, sorted by key in descending order so the smallest
+	// is last. bufferKeys mirrors the keys for scanning without touching nodes.
+	static final int MAX_BUFFER_CAPACITY = 64;
+	private int bufferCapacity;
+	private int[] bufferKeys;
+	private HeapNode[] bufferNodes;
+	private int bufferCount;
+	// Nodes offered by other threads, a Treiber stack linked through next
+	private final AtomicReference<HeapNode> offered = new AtomicReference<>();
 
 	/**
 	 *
@@ -24,12 +71,32 @@ public class FibonacciHeap
 	 *
 	 */
 	public FibonacciHeap(int c)
+	{
+		this(c, false);
+	}
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * When recycleNodes is set, nodes removed by deleteMin or delete are kept
+	 * in an internal pool and handed out again by insert, so the HeapNode
+	 * returned by an earlier insert must not be used once its item is gone.
+	 * The plain decreaseKey and delete only reject nodes sitting in the pool;
+	 * once a node has been reused they act on its new item. Callers that may
+	 * hold stale handles must snapshot HeapNode.generation at insert and pass
+	 * it to decreaseKey(x, diff, generation) and delete(x, generation), which
+	 * throw on a stale handle, or check it themselves with isValid.
+	 * pre: c >= 2.
+	 *
+	 */
+	public FibonacciHeap(int c, boolean recycleNodes)
 	{
 		this.min = null;
 		this.size = 0;
 		this.nodesToCut = c;
 		this.totalLinksCount = 0;
 		this.totalCutsCount = 0;
+		this.recycleNodes = recycleNodes;
 
 	}
 
@@ -46,11 +113,22 @@ public class FibonacciHeap
 		}
 
 		// Create and initialize node efficiently
-		HeapNode node = new HeapNode();
+		HeapNode node = newNode();
 		node.key = key; 
 		node.info = info;
 		// Other fields are already initialized to default values (0, false, null)
 		
+		size++; 
+		if (bufferCapacity == 0 || !addToBuffer(node)) {
+			addRoot(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Add a single-node tree to the root list and update min.
+	 */
+	private void addRoot(HeapNode node) {
 		if (this.min == null) {
 			// First node in heap
 			min = node;
@@ -60,15 +138,474 @@ public class FibonacciHeap
 		} else {
 			// Add to root list and update min in one step
 			addToRootList(node);
-			if (key < min.key) {
+			if (node.key < min.key) {
 				min = node;
 			}
 		}
 		
-		size++; 
+		if (consolidationBudget > 0) {
+			pushPending(node);
+			settleRoots(consolidationBudget);
+		}
+	}
+
+	/**
+	 * 
+	 * pre: 0 <= capacity <= MAX_BUFFER_CAPACITY
+	 *
+	 * Keep up to capacity recently inserted small keys in a sorted buffer in
+	 * front of the root list; 0 (the default) turns the buffer off.
+	 *
+	 * A new node goes into the buffer while it has room, or when its key is
+	 * below the largest buffered key, which is then moved to the root list.
+	 * findMin and deleteMin are answered from the buffer whenever its
+	 * smallest key is not above the root list minimum, so in hold-model runs
+	 * (insert near the minimum, then deleteMin) most deleteMins are O(1) and
+	 * never consolidate. decreaseKey and delete work on buffered nodes in
+	 * O(capacity); changing the capacity, extractMin and decreaseKeyAll move
+	 * the buffer into the root list first, and meld moves heap2's buffer.
+	 * Buffered nodes count as one tree each in numTrees.
+	 *
+	 */
+	public void setInsertBuffer(int capacity)
+	{
+		if (capacity < 0 || capacity > MAX_BUFFER_CAPACITY) {
+			throw new IllegalArgumentException("Buffer capacity must be between 0 and " + MAX_BUFFER_CAPACITY);
+		}
+		flushBuffer();
+		bufferCapacity = capacity;
+		bufferKeys = capacity == 0 ? null : new int[capacity];
+		bufferNodes = capacity == 0 ? null : new HeapNode[capacity];
+	}
+
+	/**
+	 * Put node into the buffer, evicting the largest buffered node to the
+	 * root list if full. Return false (and change nothing) if the buffer is
+	 * full and node's key is not below the largest buffered key.
+	 */
+	private boolean addToBuffer(HeapNode node) {
+		if (bufferCount == bufferCapacity) {
+			if (node.key >= bufferKeys[0]) {
+				return false;
+			}
+			HeapNode evicted = removeFromBuffer(0);
+			addRoot(evicted);
+		}
+		insertIntoBuffer(node);
+		return true;
+	}
+
+	/**
+	 * Insert node into the sorted buffer, which must have room.
+	 */
+	private void insertIntoBuffer(HeapNode node) {
+		int key = node.key;
+		int i = bufferCount;
+		while (i > 0 && bufferKeys[i - 1] < key) {
+			bufferKeys[i] = bufferKeys[i - 1];
+			bufferNodes[i] = bufferNodes[i - 1];
+			i--;
+		}
+		bufferKeys[i] = key;
+		bufferNodes[i] = node;
+		bufferCount++;
+		node.buffered = true;
+	}
+
+	/**
+	 * Remove and return the buffered node at index i.
+	 */
+	private HeapNode removeFromBuffer(int i) {
+		HeapNode node = bufferNodes[i];
+		bufferCount--;
+		System.arraycopy(bufferKeys, i + 1, bufferKeys, i, bufferCount - i);
+		System.arraycopy(bufferNodes, i + 1, bufferNodes, i, bufferCount - i);
+		bufferNodes[bufferCount] = null;
+		node.buffered = false;
 		return node;
 	}
 
+	/**
+	 * Return the buffer index of the buffered node x.
+	 */
+	private int bufferIndexOf(HeapNode x) {
+		int i = bufferCount - 1;
+		while (bufferNodes[i] != x) {
+			i--;
+		}
+		return i;
+	}
+
+	/**
+	 * Move every buffered node to the root list.
+	 */
+	private void flushBuffer() {
+		while (bufferCount > 0) {
+			addRoot(removeFromBuffer(bufferCount - 1));
+		}
+	}
+
+	/**
+	 * Return true if the smallest buffered key is not above the root list minimum.
+	 */
+	private boolean bufferHoldsMin() {
+		return bufferCount > 0 && (min == null || bufferKeys[bufferCount - 1] <= min.key);
+	}
+
+	/**
+	 * 
+	 * pre: every key > 0
+	 *
+	 * Insert all keys (with empty info) in one pass and return the new nodes,
+	 * in the same order as keys. The nodes are chained together first and the
+	 * chain is spliced into the root list once, instead of once per key.
+	 *
+	 */
+	public HeapNode[] insertAll(int[] keys)
+	{
+		for (int key : keys) {
+			if (key <= 0) {
+				throw new IllegalArgumentException("Key must be positive");
+			}
+		}
+
+		HeapNode[] nodes = new HeapNode[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			HeapNode node = newNode();
+			node.key = keys[i];
+			node.info = "";
+			nodes[i] = node;
+		}
+		insertNodes(nodes, nodes.length);
+		return nodes;
+	}
+
+	/**
+	 * Insert the fresh (unlinked, rank 0) nodes[0..count) as roots: chain them
+	 * together, tracking the chain minimum, and splice the chain into the
+	 * root list once. Also used by SmallFibonacciHeap to hand over its
+	 * inline nodes, so their handles stay valid.
+	 */
+	void insertNodes(HeapNode[] nodes, int count) {
+		if (count == 0) {
+			return;
+		}
+
+		// Build a circular chain of the new nodes, tracking its minimum
+		HeapNode first = nodes[0];
+		HeapNode last = first;
+		HeapNode chainMin = first;
+		for (int i = 1; i < count; i++) {
+			HeapNode node = nodes[i];
+			node.prev = last;
+			last.next = node;
+			last = node;
+			if (node.key < chainMin.key) {
+				chainMin = node;
+			}
+		}
+		spliceChain(first, last, chainMin, count);
+	}
+
+	/**
+	 * Splice the chain first..last of count fresh roots (linked through next
+	 * and prev) into the root list right after min.
+	 */
+	private void spliceChain(HeapNode first, HeapNode last, HeapNode chainMin, int count) {
+		last.next = first;
+		first.prev = last;
+
+		if (this.min == null) {
+			this.min = chainMin;
+		} else {
+			HeapNode after = this.min.next;
+			this.min.next = first;
+			first.prev = this.min;
+			last.next = after;
+			after.prev = last;
+			if (chainMin.key < this.min.key) {
+				this.min = chainMin;
+			}
+		}
+
+		this.length += count;
+		this.size += count;
+		if (consolidationBudget > 0) {
+			HeapNode node = first;
+			for (int i = 0; i < count; i++) {
+				pushPending(node);
+				node = node.next;
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * pre: key > 0
+	 *
+	 * Insert (key,info) from any thread and return the new HeapNode.
+	 *
+	 * This is the only method that may be called concurrently, from any
+	 * number of producer threads while one consumer thread uses the rest of
+	 * the heap. The node is pushed onto a lock-free stack with a single CAS
+	 * and joins the root list when the consumer drains the stack: on findMin,
+	 * deleteMin, extractMin, decreaseKeyAll, meld or drainOffers, or when
+	 * decreaseKey, increaseKey or delete is given a node that has not been
+	 * drained yet. Draining splices
+	 * all offered nodes into the root list at once. Until then the node is
+	 * not counted by size or numTrees.
+	 *
+	 */
+	public HeapNode offer(int key, String info)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+		HeapNode node = new HeapNode(); // the node pool is not thread-safe
+		node.key = key;
+		node.info = info;
+		HeapNode top;
+		do {
+			top = offered.get();
+			node.next = top;
+		} while (!offered.compareAndSet(top, node));
+		return node;
+	}
+
+	/**
+	 * 
+	 * Move every offered node into the root list with one splice and return
+	 * how many were moved. Consumer thread only.
+	 *
+	 */
+	public int drainOffers()
+	{
+		if (offered.get() == null) {
+			return 0;
+		}
+		HeapNode first = offered.getAndSet(null);
+		HeapNode last = first;
+		HeapNode chainMin = first;
+		int count = 1;
+		for (HeapNode node = first.next; node != null; node = node.next) {
+			node.prev = last;
+			last = node;
+			count++;
+			if (node.key < chainMin.key) {
+				chainMin = node;
+			}
+		}
+		spliceChain(first, last, chainMin, count);
+		return count;
+	}
+
+	/**
+	 * 
+	 * pre: c >= 2, every key > 0
+	 *
+	 * Build a heap holding keys (with empty info) using insertAll.
+	 *
+	 */
+	public static FibonacciHeap of(int[] keys, int c)
+	{
+		FibonacciHeap heap = new FibonacciHeap(c);
+		heap.insertAll(keys);
+		return heap;
+	}
+
+	/**
+	 * 
+	 * pre: c >= 2, every key > 0
+	 *
+	 * Build a consolidated heap holding keys (with empty info) in the common
+	 * ForkJoinPool. See parallelOf(int[], int, HeapNode[], ForkJoinPool).
+	 *
+	 */
+	public static FibonacciHeap parallelOf(int[] keys, int c)
+	{
+		return parallelOf(keys, c, null, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * 
+	 * pre: c >= 2, every key > 0, nodes == null or nodes.length == keys.length
+	 *
+	 * Build a heap holding keys (with empty info) in pool and, if nodes is
+	 * not null, store the node of keys[i] in nodes[i].
+	 *
+	 * The key range is split in halves down to PARALLEL_BUILD_CHUNK keys.
+	 * Each chunk becomes a heap of singletons that is consolidated on its own
+	 * worker, leaving binomial trees of distinct ranks. Going back up, each
+	 * pair of partial heaps is melded and consolidated again, which only
+	 * links their O(log n) roots. The result is already consolidated, so the
+	 * first deleteMin does O(log n) work instead of linking all n roots.
+	 *
+	 */
+	public static FibonacciHeap parallelOf(int[] keys, int c, HeapNode[] nodes, ForkJoinPool pool)
+	{
+		if (nodes != null && nodes.length != keys.length) {
+			throw new IllegalArgumentException("nodes and keys must have the same length");
+		}
+		if (keys.length == 0) {
+			return new FibonacciHeap(c);
+		}
+		return pool.invoke(new BuildTask(keys, nodes, 0, keys.length, c));
+	}
+
+	static final int PARALLEL_BUILD_CHUNK = 1 << 14;
+
+	/**
+	 * Builds the consolidated heap of keys[from..to).
+	 */
+	@SuppressWarnings("serial")
+	private static final class BuildTask extends RecursiveTask<FibonacciHeap> {
+		private final int[] keys;
+		private final HeapNode[] nodes;
+		private final int from;
+		private final int to;
+		private final int c;
+
+		BuildTask(int[] keys, HeapNode[] nodes, int from, int to, int c) {
+			this.keys = keys;
+			this.nodes = nodes;
+			this.from = from;
+			this.to = to;
+			this.c = c;
+		}
+
+		@Override
+		protected FibonacciHeap compute() {
+			if (to - from <= PARALLEL_BUILD_CHUNK) {
+				return buildChunk();
+			}
+			int mid = (from + to) >>> 1;
+			BuildTask left = new BuildTask(keys, nodes, from, mid, c);
+			left.fork();
+			FibonacciHeap heap = new BuildTask(keys, nodes, mid, to, c).compute();
+			heap.meld(left.join());
+			heap.consolidate();
+			return heap;
+		}
+
+		private FibonacciHeap buildChunk() {
+			FibonacciHeap heap = new FibonacciHeap(c);
+			HeapNode first = null;
+			HeapNode last = null;
+			HeapNode chainMin = null;
+			for (int i = from; i < to; i++) {
+				if (keys[i] <= 0) {
+					throw new IllegalArgumentException("Key must be positive");
+				}
+				HeapNode node = new HeapNode();
+				node.key = keys[i];
+				node.info = "";
+				if (nodes != null) {
+					nodes[i] = node;
+				}
+				if (first == null) {
+					first = node;
+					chainMin = node;
+				} else {
+					node.prev = last;
+					last.next = node;
+					if (node.key < chainMin.key) {
+						chainMin = node;
+					}
+				}
+				last = node;
+			}
+			heap.spliceChain(first, last, chainMin, to - from);
+			heap.consolidate();
+			return heap;
+		}
+	}
+
+	/**
+	 * 
+	 * Meld every heap in heaps into this one and consolidate once.
+	 * Return the number of links.
+	 *
+	 * Each meld is O(1); the single consolidation at the end links all roots
+	 * together, so the result is ready for deleteMin. Melding k consolidated
+	 * heaps this way costs O(k log n) links.
+	 *
+	 */
+	public int meldAll(FibonacciHeap... heaps)
+	{
+		for (FibonacciHeap heap : heaps) {
+			meld(heap);
+		}
+		if (min == null) {
+			return 0;
+		}
+		if (consolidationBudget > 0) {
+			// A full consolidation leaves distinct ranks, i.e. every root settled
+			resetIncrementalState();
+			int links = consolidate();
+			settleAllRoots();
+			return links;
+		}
+		return consolidate();
+	}
+
+	/**
+	 * Return a node with default links, taken from the pool when recycling.
+	 */
+	private HeapNode newNode() {
+		HeapNode node = pool;
+		if (node == null) {
+			return new HeapNode();
+		}
+		pool = node.next;
+		poolSize--;
+		node.next = null;
+		node.generation++; // odd (pooled) -> even (live)
+		return node;
+	}
+
+	/**
+	 * Retire a node that has left the heap. Its generation becomes odd, so
+	 * earlier snapshots no longer validate; when recycling it joins the pool.
+	 */
+	private void retireNode(HeapNode node) {
+		node.generation++;
+		if (!recycleNodes || poolSize >= MAX_POOL_SIZE) {
+			return;
+		}
+		node.info = null;
+		node.child = null;
+		node.prev = null;
+		node.parent = null;
+		node.rank = 0;
+		node.isLoser = false;
+		node.markCnt = 0;
+		node.next = pool;
+		pool = node;
+		poolSize++;
+	}
+
+	/**
+	 *
+	 * Return true if x is still in the heap and was inserted when its
+	 * generation was the given value, i.e. the handle is not stale.
+	 *
+	 */
+	public boolean isValid(HeapNode x, int generation)
+	{
+		// generation is 16 bits wide: a handle held across 32768 reuses of the
+		// same node would validate again
+		return x != null && x.generation == generation && (generation & 1) == 0;
+	}
+
+	/**
+	 * In recycling mode, reject handles of nodes that are sitting in the pool.
+	 */
+	private void checkNotRetired(HeapNode x) {
+		if (recycleNodes && x != null && (x.generation & 1) != 0) {
+			throw new IllegalArgumentException("Stale node handle");
+		}
+	}
+
 	/**
 	 * 
 	 * pre: node is valid
@@ -97,44 +634,566 @@ public class FibonacciHeap
 	 */
 	public HeapNode findMin()
 	{
-		
-		return min;
+		drainOffers();
+		if (bufferHoldsMin()) {
+			return bufferNodes[bufferCount - 1];
+		}
+		return min;
+	}
+
+	/**
+	 * 
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		if (adaptiveMaxCut > 0) {
+			adaptNodesToCut(1);
+		}
+		drainOffers();
+		if (bufferHoldsMin()) {
+			size--;
+			retireNode(removeFromBuffer(bufferCount - 1));
+			return 0;
+		}
+		return deleteRootMin();
+	}
+
+	/**
+	 * Delete min, the minimum of the root list.
+	 * Return the number of links.
+	 */
+	private int deleteRootMin() {
+		if (consolidationBudget > 0) {
+			return deleteMinIncremental();
+		}
+		HeapNode minNode = min;
+		int links = 0;
+		if (minNode != null) {
+			// First, add children to root list BEFORE removing minNode
+			if (minNode.child != null) {
+				addChildrenToRootList(minNode);
+			}
+			
+			// Remove minNode from root list
+			if (minNode == minNode.next) {
+				// Only one node in root list
+				min = null;
+				length = 0;
+			} else {
+				// Update min to point to next node before removal
+				min = minNode.next;
+				removeNodeFromRootList(minNode);
+				length--; // Decrease by 1 since we removed minNode
+				
+				// Now consolidate, or only find the new min if the policy defers linking
+				if (consolidationPolicy.shouldConsolidate(length, size - 1)) {
+					links = consolidate();
+				} else {
+					min = minOfRootList(min);
+				}
+			}
+			size--;
+			retireNode(minNode);
+		}
+		return links;
+
+	}
+
+	/**
+	 * Return the root with the smallest key in the root list containing start.
+	 */
+	private static HeapNode minOfRootList(HeapNode start) {
+		HeapNode best = start;
+		for (HeapNode node = start.next; node != start; node = node.next) {
+			if (node.key < best.key) {
+				best = node;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * 
+	 * Return the policy deciding when deleteMin consolidates.
+	 *
+	 */
+	public ConsolidationPolicy consolidationPolicy()
+	{
+		return consolidationPolicy;
+	}
+
+	/**
+	 * 
+	 * Set the policy deciding when deleteMin and extractMin consolidate the
+	 * root list. When the policy declines, the new minimum is found by a scan
+	 * of the root list and no links are made. Ignored while incremental
+	 * consolidation is on (see setConsolidationBudget).
+	 *
+	 */
+	public void setConsolidationPolicy(ConsolidationPolicy policy)
+	{
+		if (policy == null) {
+			throw new IllegalArgumentException("Consolidation policy must not be null");
+		}
+		this.consolidationPolicy = policy;
+	}
+
+	/**
+	 * deleteMin for incremental mode: remove min, settle budget roots plus one
+	 * per child of min, then find the new minimum among the settled roots (one
+	 * per rank) and the top of the pending heap.
+	 */
+	private int deleteMinIncremental() {
+		HeapNode minNode = min;
+		if (minNode == null) {
+			return 0;
+		}
+		unsettle(minNode);
+		if (minNode.child != null) {
+			addChildrenToRootList(minNode);
+		}
+
+		int links = 0;
+		if (minNode == minNode.next) {
+			min = null;
+			length = 0;
+			size--;
+			retireNode(minNode);
+			resetIncrementalState();
+		} else {
+			min = minNode.next;
+			removeNodeFromRootList(minNode);
+			length--;
+			size--;
+			retireNode(minNode);
+			links = settleRoots(consolidationBudget);
+			min = minOfSettledAndPending();
+		}
+		return links;
+	}
+
+	/**
+	 * 
+	 * Return the per-call work budget of incremental consolidation, 0 if off.
+	 *
+	 */
+	public int consolidationBudget()
+	{
+		return consolidationBudget;
+	}
+
+	/**
+	 * 
+	 * Turn incremental consolidation on (budget > 0) or off (budget <= 0).
+	 *
+	 * When on, deleteMin no longer consolidates the whole root list. Instead
+	 * insert, decreaseKey, decreaseKeyAll, increaseKey, delete and deleteMin
+	 * each settle pending roots into a rank table kept between calls, linking
+	 * equal ranks: as many roots as the operation itself made pending (the
+	 * children of a deleted node, the nodes cut) plus budget more. An
+	 * operation therefore never grows the pending backlog, and a backlog left
+	 * by meld or by turning the mode on shrinks by budget roots per
+	 * operation. Since the rank table holds at most one root per rank, the
+	 * links of one call are at most the roots it settles plus the number of
+	 * ranks. deleteMin then finds the next minimum among the settled roots
+	 * and the top of a binary heap of pending roots, without scanning the
+	 * backlog. findMin stays exact throughout.
+	 *
+	 * The bound on links is per operation; the bound on time is amortized.
+	 * Entries of roots that were since linked, cut again, rekeyed or deleted
+	 * stay in the pending heap until they reach its top, and finding the
+	 * minimum drops every such entry it meets there. Each entry is dropped
+	 * once, at O(log n) charged to the operation that pushed it, but a single
+	 * deleteMin may drop a run of entries left by earlier operations.
+	 *
+	 */
+	public void setConsolidationBudget(int budget)
+	{
+		if (budget > 0 && consolidationBudget <= 0) {
+			consolidationBudget = budget;
+			if (pendingRoots == null) {
+				pendingRoots = new HeapNode[16];
+				pendingGenerations = new int[16];
+				pendingKeys = new int[16];
+			}
+			if (min != null) {
+				HeapNode node = min;
+				do {
+					pushPending(node);
+					node = node.next;
+				} while (node != min);
+			}
+			pendingPushes = 0; // the existing roots drain at budget per operation
+		} else if (budget <= 0 && consolidationBudget > 0) {
+			resetIncrementalState();
+			consolidationBudget = 0;
+		} else {
+			consolidationBudget = Math.max(budget, 0);
+		}
+	}
+
+	/**
+	 * Add root x to the pending heap under its current key.
+	 */
+	private void pushPending(HeapNode x) {
+		if (pendingCount == pendingRoots.length) {
+			pendingRoots = Arrays.copyOf(pendingRoots, pendingCount << 1);
+			pendingGenerations = Arrays.copyOf(pendingGenerations, pendingCount << 1);
+			pendingKeys = Arrays.copyOf(pendingKeys, pendingCount << 1);
+		}
+		int i = pendingCount++;
+		int key = x.key;
+		int generation = x.generation;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (pendingKeys[parent] <= key) {
+				break;
+			}
+			setPending(i, pendingRoots[parent], pendingGenerations[parent], pendingKeys[parent]);
+			i = parent;
+		}
+		setPending(i, x, generation, key);
+		pendingPushes++;
+	}
+
+	/**
+	 * Remove the top entry of the pending heap.
+	 */
+	private void popPending() {
+		int last = --pendingCount;
+		HeapNode node = pendingRoots[last];
+		int generation = pendingGenerations[last];
+		int key = pendingKeys[last];
+		pendingRoots[last] = null;
+		if (last > 0) {
+			siftDownPending(0, node, generation, key);
+		}
+	}
+
+	/**
+	 * Place the entry (node, generation, key) at index i or below it.
+	 */
+	private void siftDownPending(int i, HeapNode node, int generation, int key) {
+		int child;
+		while ((child = 2 * i + 1) < pendingCount) {
+			if (child + 1 < pendingCount && pendingKeys[child + 1] < pendingKeys[child]) {
+				child++;
+			}
+			if (key <= pendingKeys[child]) {
+				break;
+			}
+			setPending(i, pendingRoots[child], pendingGenerations[child], pendingKeys[child]);
+			i = child;
+		}
+		setPending(i, node, generation, key);
+	}
+
+	/**
+	 * Store the entry (node, generation, key) at index i of the pending heap.
+	 */
+	private void setPending(int i, HeapNode node, int generation, int key) {
+		pendingRoots[i] = node;
+		pendingGenerations[i] = generation;
+		pendingKeys[i] = key;
+	}
+
+	/**
+	 * Return true if pending entry i is still an unsettled root: not removed,
+	 * reused, linked below another root or filed since it was pushed.
+	 */
+	private boolean isPendingLive(int i) {
+		HeapNode node = pendingRoots[i];
+		return node.generation == pendingGenerations[i] && node.parent == null && !isSettled(node);
+	}
+
+	/**
+	 * Return the pending root with the smallest key, null if none. Stale
+	 * entries on top are dropped; a live one whose key has grown since it was
+	 * pushed is moved down under its new key. Keys that shrink are pushed
+	 * again when they change, so the top is never too large.
+	 */
+	private HeapNode peekPending() {
+		while (pendingCount > 0) {
+			if (!isPendingLive(0)) {
+				popPending();
+				continue;
+			}
+			HeapNode top = pendingRoots[0];
+			if (pendingKeys[0] != top.key) {
+				siftDownPending(0, top, pendingGenerations[0], top.key);
+				continue;
+			}
+			return top;
+		}
+		return null;
+	}
+
+	/**
+	 * Return true if root x is filed in the rank table.
+	 */
+	private boolean isSettled(HeapNode x) {
+		return x.rank < rankTable.length && rankTable[x.rank] == x;
+	}
+
+	/**
+	 * Take x out of the rank table if it is filed there.
+	 */
+	private void unsettle(HeapNode x) {
+		if (isSettled(x)) {
+			rankTable[x.rank] = null;
+			rankOccupied[x.rank >>> 6] &= ~(1L << x.rank);
+		}
+	}
+
+	/**
+	 * Forget all settled and pending roots.
+	 */
+	private void resetIncrementalState() {
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			while (bits != 0) {
+				rankTable[(word << 6) + Long.numberOfTrailingZeros(bits)] = null;
+				bits &= bits - 1;
+			}
+			rankOccupied[word] = 0;
+		}
+		if (pendingCount > 0) {
+			Arrays.fill(pendingRoots, 0, pendingCount, null);
+			pendingCount = 0;
+		}
+		pendingPushes = 0;
+	}
+
+	/**
+	 * File every root in the rank table; only valid right after consolidate,
+	 * when all roots have distinct ranks.
+	 */
+	private void settleAllRoots() {
+		if (min == null) return;
+		HeapNode node = min;
+		do {
+			ensureRankCapacity(node.rank);
+			rankTable[node.rank] = node;
+			rankOccupied[node.rank >>> 6] |= 1L << node.rank;
+			node = node.next;
+		} while (node != min);
+	}
+
+	/**
+	 * Settle pending roots into the rank table, linking equal ranks: pop
+	 * budget entries plus one per entry pushed since the last call. Each
+	 * popped root's carry chain is finished.
+	 * Return the number of links.
+	 */
+	private int settleRoots(int budget) {
+		int links = 0;
+		int pops = budget + pendingPushes;
+		pendingPushes = 0;
+		for (; pops > 0 && pendingCount > 0; pops--) {
+			HeapNode node = pendingRoots[0];
+			boolean live = isPendingLive(0);
+			popPending();
+			if (!live) {
+				continue; // removed, reused or already filed since it was pushed
+			}
+
+			int rank = node.rank;
+			while (true) {
+				ensureRankCapacity(rank);
+				HeapNode other = rankTable[rank];
+				if (other == null) break;
+				if (node.key > other.key) {
+					HeapNode temp = node;
+					node = other;
+					other = temp;
+				}
+				link(other, node);
+				length--;
+				links++;
+				if (other == min) {
+					min = node; // equal keys; min must stay a root
+				}
+				rankTable[rank] = null;
+				rankOccupied[rank >>> 6] &= ~(1L << rank);
+				rank++;
+			}
+			rankTable[rank] = node;
+			rankOccupied[rank >>> 6] |= 1L << rank;
+		}
+		return links;
+	}
+
+	/**
+	 * Return the root with the smallest key among settled and pending roots.
+	 */
+	private HeapNode minOfSettledAndPending() {
+		HeapNode best = null;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			while (bits != 0) {
+				HeapNode root = rankTable[(word << 6) + Long.numberOfTrailingZeros(bits)];
+				bits &= bits - 1;
+				if (best == null || root.key < best.key) {
+					best = root;
+				}
+			}
+		}
+		HeapNode pending = peekPending();
+		if (pending != null && (best == null || pending.key < best.key)) {
+			best = pending;
+		}
+		return best;
+	}
+
+	// extractMin(k) consolidates a root list longer than this before extracting
+	static final int EXTRACT_CONSOLIDATE_ROOTS = 1 << 10;
+
+	/**
+	 * 
+	 * Delete the k smallest items and return their nodes in increasing key
+	 * order (fewer than k if the heap runs out).
+	 * See extractMin(int, HeapNode[]).
+	 *
+	 */
+	public HeapNode[] extractMin(int k)
+	{
+		// Offered nodes count towards the k smallest, so take them in first
+		drainOffers();
+		HeapNode[] out = new HeapNode[Math.max(0, Math.min(k, size))];
+		extractMin(out.length, out);
+		return out;
 	}
 
 	/**
 	 * 
-	 * Delete the minimal item.
-	 * Return the number of links.
+	 * pre: k >= 0, out.length >= min(k, size())
+	 *
+	 * Delete the k smallest items, writing their nodes to out in increasing
+	 * key order. Between extractions the next minimum comes from a binary heap
+	 * of the roots, without linking; the heap is consolidated once at the end.
+	 * A root list longer than EXTRACT_CONSOLIDATE_ROOTS is consolidated first
+	 * instead of heapified. Besides the consolidations this costs
+	 * O(numTrees + k log numTrees) plus the children of the extracted nodes.
+	 * The extracted nodes are never recycled, so their key and info stay
+	 * readable.
+	 * Return the number of links, comparable to a single deleteMin.
 	 *
 	 */
-	public int deleteMin()
+	public int extractMin(int k, HeapNode[] out)
 	{
-		HeapNode minNode = min;
+		if (k < 0) {
+			throw new IllegalArgumentException("k must be non-negative");
+		}
+		drainOffers();
+		flushBuffer();
+		if (adaptiveMaxCut > 0) {
+			adaptNodesToCut(Math.min(k, size));
+		}
+		int extracted = 0;
 		int links = 0;
-		if (minNode != null) {
-			// First, add children to root list BEFORE removing minNode
-			if (minNode.child != null) {
-				addChildrenToRootList(minNode);
+		if (k > 0 && length > EXTRACT_CONSOLIDATE_ROOTS) {
+			// Heapifying a long root list costs more than linking it, and the
+			// links would be needed at the end anyway
+			if (consolidationBudget > 0) {
+				resetIncrementalState();
 			}
-			
-			// Remove minNode from root list
-			if (minNode == minNode.next) {
-				// Only one node in root list
-				min = null;
-				length = 0;
-			} else {
-				// Update min to point to next node before removal
-				min = minNode.next;
-				removeNodeFromRootList(minNode);
-				length--; // Decrease by 1 since we removed minNode
-				
-				// Now consolidate
-				links = consolidate();
+			links = consolidate();
+		}
+		if (k > 0 && min != null) {
+			// Only find each next minimum; linking is left for the end. The
+			// roots go into a binary heap, built in O(numTrees), so that each
+			// extraction costs O(log numTrees) plus the children of the minimum
+			// instead of a scan of the whole root list.
+			HeapNode[] roots = new HeapNode[length];
+			int count = 0;
+			HeapNode node = min;
+			do {
+				roots[count++] = node;
+				node = node.next;
+			} while (node != min);
+			for (int i = (count >>> 1) - 1; i >= 0; i--) {
+				siftDown(roots, i, count);
+			}
+
+			while (extracted < k && count > 0) {
+				HeapNode minNode = roots[0];
+				roots[0] = roots[--count];
+				roots[count] = null;
+				siftDown(roots, 0, count);
+				if (minNode.child != null) {
+					HeapNode child = minNode.child;
+					do {
+						if (count == roots.length) {
+							roots = Arrays.copyOf(roots, count << 1);
+						}
+						roots[count] = child;
+						siftUp(roots, count++);
+						child = child.next;
+					} while (child != minNode.child);
+					addChildrenToRootList(minNode);
+				}
+
+				if (minNode == minNode.next) {
+					length = 0;
+				} else {
+					removeNodeFromRootList(minNode);
+					length--;
+				}
+				min = count == 0 ? null : roots[0];
+				size--;
+				minNode.generation++;
+				out[extracted++] = minNode;
 			}
-			size--;
 		}
-		return links;
+		if (consolidationBudget > 0) {
+			// A full consolidation leaves distinct ranks, i.e. every root settled
+			resetIncrementalState();
+			links += min == null ? 0 : consolidate();
+			settleAllRoots();
+			return links;
+		}
+		if (min == null || !consolidationPolicy.shouldConsolidate(length, size)) {
+			return links;
+		}
+		return links + consolidate();
+	}
+
+	/**
+	 * Restore binary min-heap order by key in nodes[0..count) below index i.
+	 */
+	private static void siftDown(HeapNode[] nodes, int i, int count) {
+		HeapNode node = nodes[i];
+		int child;
+		while ((child = 2 * i + 1) < count) {
+			if (child + 1 < count && nodes[child + 1].key < nodes[child].key) {
+				child++;
+			}
+			if (node.key <= nodes[child].key) {
+				break;
+			}
+			nodes[i] = nodes[child];
+			i = child;
+		}
+		nodes[i] = node;
+	}
 
+	/**
+	 * Restore binary min-heap order by key in nodes above index i.
+	 */
+	private static void siftUp(HeapNode[] nodes, int i) {
+		HeapNode node = nodes[i];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (nodes[parent].key <= node.key) {
+				break;
+			}
+			nodes[i] = nodes[parent];
+			i = parent;
+		}
+		nodes[i] = node;
 	}
 
 	/**
@@ -155,9 +1214,14 @@ public class FibonacciHeap
 	    
 	    HeapNode child = minNode.child;
 	    HeapNode firstChild = child;
+	    int children = 0;
 	    
 	    do {
 	        child.parent = null;
+	        children++;
+	        if (consolidationBudget > 0) {
+	            pushPending(child);
+	        }
 	        child = child.next;
 	    } while (child != firstChild);
 		
@@ -167,119 +1231,117 @@ public class FibonacciHeap
 	    firstChild.prev = prevNode;
 	    lastChild.next = minNode;
 	    minNode.prev = lastChild;
-	    HeapNode temp = firstChild;
-	    do {
-	        this.length++;
-	        temp = temp.next;
-	    } while (temp != firstChild);
+	    // Count the children before splicing; walking from firstChild afterwards
+	    // would run through the whole root list
+	    this.length += children;
 	}
 
-	// Get a list of all root nodes - optimized version
 	/**
-	 * Retrieves all nodes in the root list of the Fibonacci heap.
-	 * 
-	 * The root list is a circular doubly-linked list containing all tree roots
-	 * in the heap. This method traverses the entire root list starting from
-	 * the minimum node and collects all root nodes into a list.
-	 * 
-	 * @return A list containing all root nodes in the heap. Returns an empty
-	 *         list if the heap is empty (min is null). The order of nodes
-	 *         in the returned list follows the traversal order of the circular
-	 *         root list.
-	 * 
-	 * @throws RuntimeException implicitly if an infinite loop is detected during
-	 *                         traversal, which would indicate a corrupted heap
-	 *                         structure. An error message is printed to stderr
-	 *                         before breaking the loop.
+	 * Grow the rank table (and its occupancy bitmap) so that index rank is valid.
+	 * Ranks are O(log n) for small c, but may grow large when c is large, so the
+	 * table doubles on demand instead of silently dropping high-rank trees.
 	 */
-    private List<HeapNode> getRootList() {
-        List<HeapNode> rootList = new ArrayList<>(this.length); // Pre-allocate with known size
-        if (min == null) return rootList;
+	private void ensureRankCapacity(int rank) {
+		if (rank < rankTable.length) return;
+		int newLength = rankTable.length;
+		while (newLength <= rank) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
 
-        HeapNode current = min;
-        do {
-            rootList.add(current);
-            current = current.next;
-        } while (current != min);
-        
-        return rootList;
-    }		
-	
-	// Consolidate the trees in the root list - optimized version
+	// Consolidate the trees in the root list - allocation-free version
 	/**
 	 * Consolidates the Fibonacci heap by merging trees of the same rank to maintain
 	 * the heap property and optimize structure. This operation is typically performed
 	 * after extracting the minimum element to restore the heap's efficiency.
 	 * 
 	 * The consolidation process:
-	 * 1. Collects all root nodes into a temporary array indexed by rank
+	 * 1. Walks the root list in place, placing each tree into the per-heap rank table
 	 * 2. For each rank, merges trees of the same rank by linking them
-	 * 3. Rebuilds the root list from the consolidated trees
+	 * 3. Rebuilds the root list from the occupied slots only, using the occupancy bitmap
 	 * 4. Updates the minimum pointer to the smallest key found
 	 * 
+	 * The rank table is reused between calls and every slot is cleared again during
+	 * the rebuild, so steady-state consolidation allocates nothing.
+	 * 
 	 * Time Complexity: O(D + |roots|) where D is the maximum degree and |roots| 
 	 * is the number of root nodes before consolidation.
 	 * 
 	 * @return the number of link operations performed during consolidation
 	 */
     private int consolidate() {
-        if (size == 0) return 0;
-        
-        // Pre-calculate array size more efficiently
-        int arraySize = 512; // Set a big size to start in order to have enough space
-        HeapNode[] array = new HeapNode[arraySize]; // Use array instead of ArrayList for better performance
+        if (size == 0 || min == null) return 0;
 
-        List<HeapNode> rootList = getRootList();
+        HeapNode[] table = rankTable;
         int links = 0;
 
-        for (HeapNode node : rootList) {
+        // Walk exactly length roots; the next pointer is saved before linking
+        // since link() may unhook the current node from the root list
+        HeapNode node = min;
+        int roots = this.length;
+        for (int i = 0; i < roots; i++) {
+            HeapNode nextRoot = node.next;
             int rank = node.rank;
-            
-            // Simple bounds check - should rarely trigger with size 45
-            if (rank >= arraySize) continue; // Skip instead of error logging for performance
-            
-            while (rank < arraySize && array[rank] != null) {
-                HeapNode other = array[rank];
+
+            while (true) {
+                if (rank >= table.length) {
+                    ensureRankCapacity(rank);
+                    table = rankTable;
+                }
+                HeapNode other = table[rank];
+                if (other == null) break;
+
                 if (node.key > other.key) {
                     HeapNode temp = node;
                     node = other;
                     other = temp;
                 }
-              
+
               	// Link two trees of the same rank
-                link(other, node); 
+                link(other, node);
                 links++;
-                array[rank] = null;
+                table[rank] = null;
+                rankOccupied[rank >>> 6] &= ~(1L << rank);
                 rank++;
             }
-            
-            if (rank < arraySize) {
-                array[rank] = node;
-            }
+
+            table[rank] = node;
+            rankOccupied[rank >>> 6] |= 1L << rank;
+            node = nextRoot;
         }
 
 		this.min = null;
 		this.length = 0;
-		
-		// Rebuild root list from array - optimized
-		for (HeapNode node : array) {
-			if (node != null) {
-				node.next = node;
-				node.prev = node;
-				
+
+		// Rebuild root list from the occupied ranks only
+		long[] occupied = rankOccupied;
+		for (int word = 0; word < occupied.length; word++) {
+			long bits = occupied[word];
+			if (bits == 0) continue;
+			occupied[word] = 0;
+			while (bits != 0) {
+				int rank = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				HeapNode root = table[rank];
+				table[rank] = null;
+
 				if (this.min == null) {
-					this.min = node;
+					root.next = root;
+					root.prev = root;
+					this.min = root;
 					this.length = 1;
 				} else {
 					// Manually insert into root list
-					node.prev = this.min.prev;
-					node.next = this.min;
-					this.min.prev.next = node;
-					this.min.prev = node;
+					root.prev = this.min.prev;
+					root.next = this.min;
+					this.min.prev.next = root;
+					this.min.prev = root;
 					this.length++;
-					
-					if (node.key < this.min.key) {
-						this.min = node;
+
+					if (root.key < this.min.key) {
+						this.min = root;
 					}
 				}
 			}
@@ -319,6 +1381,24 @@ public class FibonacciHeap
 	 * Cut a node from its parent and add it to the root list
 	 */
 	private int cut(HeapNode x, HeapNode y) {
+		detach(x, y);
+		y.markCnt++;
+		return 1;
+	}
+
+	/**
+	 * Move x from the child list of y to the root list without charging the
+	 * loss to y, so callers decide when y's mark count is updated
+	 */
+	private void detach(HeapNode x, HeapNode y) {
+		if (consolidationBudget > 0) {
+			// x becomes a root, and a settled root y is about to change rank
+			pushPending(x);
+			if (y.parent == null && isSettled(y)) {
+				unsettle(y);
+				pushPending(y);
+			}
+		}
 		// Remove x from child list of y
 		if (x.next == x) {
 			y.child = null;
@@ -337,36 +1417,54 @@ public class FibonacciHeap
 		
 		x.parent = null;
 		x.isLoser = false;
-		y.markCnt++;
 		this.totalCutsCount++;
-		
-		return 1;
 	}
 
 
 	/**
 	 * Perform cascading cut operation
+	 *
+	 * Walks up the ancestors of y in a loop rather than recursing, so deep
+	 * trees (large c) run in constant stack space. Return the number of
+	 * ancestors cut.
 	 */
 	private int cascadingCut(HeapNode y) {
 		HeapNode parent = y.parent;
 		int cuts = 0;
 		
-		if (parent != null) {
+		while (parent != null) {
 			if (!y.isLoser) {
 				// C-1 time this node loses a child - mark it
 				if (y.markCnt>=this.nodesToCut-1){
 					y.isLoser = true;
 				}
-			} else {
-				// Node was already marked - cut it and cascade
-				cuts += cut(y, parent);
-				y.markCnt = 0;
-				cuts += cascadingCut(parent);
+				break;
 			}
+			// Node was already marked - cut it and cascade
+			cuts += cut(y, parent);
+			y.markCnt = 0;
+			y = parent;
+			parent = y.parent;
 		}
-		
 		return cuts;
 	}
+	/**
+	 * 
+	 * pre: 0<diff<x.key
+	 * 
+	 * decreaseKey(x, diff) for a handle whose generation was snapshot at
+	 * insert; throws IllegalArgumentException if the handle is stale.
+	 * Return the number of cuts.
+	 * 
+	 */
+	public int decreaseKey(HeapNode x, int diff, int generation)
+	{
+		if (!isValid(x, generation)) {
+			throw new IllegalArgumentException("Stale node handle");
+		}
+		return decreaseKey(x, diff);
+	}
+
 	/**
 	 * 
 	 * pre: 0<diff<x.key
@@ -378,40 +1476,373 @@ public class FibonacciHeap
 	public int decreaseKey(HeapNode x, int diff) 
 	{    
 	    // Validate input - simplified for performance
+	    checkNotRetired(x);
 	    if (x == null || diff <= 0 || diff > x.key) {
 	        throw new IllegalArgumentException("Invalid decrease key operation");
 	    }
+	    if (adaptiveMaxCut > 0) {
+	        adaptNodesToCut(1);
+	    }
+	    if (x.prev == null && !x.buffered) {
+	        drainOffers(); // x may still be on the offer stack
+	    }
+	    if (x.buffered) {
+	        this.lastCascadeDepth = 0;
+	        removeFromBuffer(bufferIndexOf(x));
+	        x.key = x.key - diff;
+	        insertIntoBuffer(x);
+	        return 0;
+	    }
 	    
 	    x.key = x.key - diff;
 	    HeapNode parent = x.parent;
 	    int cuts = 0;
+	    this.lastCascadeDepth = 0;
 	    
 	    if (parent != null && x.key < parent.key) {
 	        cuts += cut(x, parent);
-	        cuts += cascadingCut(parent);
+	        int depth = cascadingCut(parent);
+	        cuts += depth;
+	        this.lastCascadeDepth = depth;
+	        if (depth > this.maxCascadeDepth) {
+	            this.maxCascadeDepth = depth;
+	        }
+	    } else if (parent == null && consolidationBudget > 0 && !isSettled(x)) {
+	        pushPending(x); // the pending heap must see the smaller key
 	    }
 	    
 	    if (x.key < min.key) {
 	        min = x;
 	    }
+	    if (consolidationBudget > 0) {
+	        settleRoots(consolidationBudget);
+	    }
 	    
 	    return cuts;
-	}/**
+	}
+
+	/**
+	 * 
+	 * pre: diff > 0, x.key + diff <= Integer.MAX_VALUE
+	 * 
+	 * Increase the key of x by diff, keeping the same node, and fix the heap.
+	 * Children whose key is now below x's are moved to the root list; each
+	 * move is a cut charged to x under the usual c rule, so x itself may be
+	 * cut and the cascade continue upwards. If x was the minimum the root
+	 * list is scanned for the new one.
+	 * Return the number of cuts.
+	 * 
+	 */
+	public int increaseKey(HeapNode x, int diff)
+	{
+		checkNotRetired(x);
+		if (x == null || diff <= 0 || x.key > Integer.MAX_VALUE - diff) {
+			throw new IllegalArgumentException("Invalid increase key operation");
+		}
+		if (adaptiveMaxCut > 0) {
+			adaptNodesToCut(1);
+		}
+		if (x.prev == null && !x.buffered) {
+			drainOffers(); // x may still be on the offer stack
+		}
+		if (x.buffered) {
+			removeFromBuffer(bufferIndexOf(x));
+			x.key += diff;
+			insertIntoBuffer(x);
+			return 0;
+		}
+
+		x.key += diff;
+		int cuts = 0;
+		int pending = 0;
+		HeapNode child = x.child;
+		for (int i = x.rank; i > 0; i--) {
+			HeapNode nextChild = child.next;
+			if (child.key < x.key) {
+				detach(child, x);
+				cuts++;
+				pending = pushLoss(x, pending);
+			}
+			child = nextChild;
+		}
+		cuts += chargeLosses(pending);
+
+		if (consolidationBudget > 0) {
+			boolean wasMin = x == min;
+			settleRoots(consolidationBudget);
+			if (wasMin) {
+				min = minOfSettledAndPending();
+			}
+		} else if (x == min) {
+			min = minOfRootList(min);
+		}
+		return cuts;
+	}
+
+	/**
+	 * 
+	 * pre: nodes.length == diffs.length, and for every node the sum of its
+	 *      diffs is positive and at most its key
+	 * 
+	 * Decrease the key of every nodes[i] by diffs[i] as one batch and fix the
+	 * heap. Repeated entries for the same node are coalesced, each affected
+	 * node is cut at most once, cascading cuts run after all cuts and min is
+	 * updated once at the end. If any entry is invalid no key is changed.
+	 * Return the total number of cuts.
+	 * 
+	 */
+	public int decreaseKeyAll(HeapNode[] nodes, int[] diffs)
+	{
+		if (nodes.length != diffs.length) {
+			throw new IllegalArgumentException("nodes and diffs must have the same length");
+		}
+		if (nodes.length == 0) {
+			return 0;
+		}
+		drainOffers();
+		flushBuffer();
+
+		// Apply every decrease up front; duplicates simply accumulate
+		for (int i = 0; i < nodes.length; i++) {
+			HeapNode x = nodes[i];
+			int diff = diffs[i];
+			if (x == null || diff <= 0 || diff > x.key || (recycleNodes && (x.generation & 1) != 0)) {
+				for (int j = i - 1; j >= 0; j--) {
+					nodes[j].key += diffs[j];
+				}
+				throw new IllegalArgumentException("Invalid decrease key operation");
+			}
+			x.key -= diff;
+		}
+		if (adaptiveMaxCut > 0) {
+			adaptNodesToCut(nodes.length);
+		}
+
+		// Cut every violating node once; a node seen again is already a root.
+		// Each cut records its parent as having lost a child.
+		int cuts = 0;
+		int pending = 0;
+		for (HeapNode x : nodes) {
+			HeapNode parent = x.parent;
+			if (parent != null && x.key < parent.key) {
+				detach(x, parent);
+				cuts++;
+				pending = pushLoss(parent, pending);
+			}
+		}
+
+		cuts += chargeLosses(pending);
+
+		for (HeapNode x : nodes) {
+			if (x.key < min.key) {
+				min = x;
+			}
+		}
+		if (consolidationBudget > 0) {
+			// Roots that were not cut kept their pending entries under older,
+			// larger keys; duplicates from repeated nodes are dropped as stale
+			for (HeapNode x : nodes) {
+				if (x.parent == null && !isSettled(x)) {
+					pushPending(x);
+				}
+			}
+			settleRoots(consolidationBudget);
+		}
+		return cuts;
+	}
+
+	/**
+	 * Charge each queued child loss in turn, with the same marking rule as
+	 * cascadingCut: cut losers and queue a loss for their parents.
+	 * Return the number of cuts.
+	 */
+	private int chargeLosses(int pending) {
+		int cuts = 0;
+		while (pending > 0) {
+			HeapNode y = lossQueue[--pending];
+			lossQueue[pending] = null;
+			y.markCnt++;
+			HeapNode parent = y.parent;
+			if (parent == null) continue;
+			if (!y.isLoser) {
+				if (y.markCnt >= this.nodesToCut - 1) {
+					y.isLoser = true;
+				}
+			} else {
+				detach(y, parent);
+				y.markCnt = 0;
+				cuts++;
+				pending = pushLoss(parent, pending);
+			}
+		}
+		return cuts;
+	}
+
+	/**
+	 * Queue a child loss of y for chargeLosses, growing the reusable queue.
+	 */
+	private int pushLoss(HeapNode y, int pending) {
+		if (lossQueue == null) {
+			lossQueue = new HeapNode[16];
+		} else if (pending == lossQueue.length) {
+			lossQueue = Arrays.copyOf(lossQueue, pending << 1);
+		}
+		lossQueue[pending] = y;
+		return pending + 1;
+	}
+
+	/**
+	 * 
+	 * delete(x) for a handle whose generation was snapshot at insert; throws
+	 * IllegalArgumentException if the handle is stale.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(HeapNode x, int generation)
+	{
+		if (!isValid(x, generation)) {
+			throw new IllegalArgumentException("Stale node handle");
+		}
+		return delete(x);
+	}
+
+	/**
 	 * 
 	 * Delete the x from the heap.
 	 * Return the number of links.
 	 *
-	 */	public int delete(HeapNode x) 
+	 * x is cut from its parent (cascading by the usual c rule), its children
+	 * are spliced into the root list and x is unlinked. Only when x was the
+	 * minimum is the root list consolidated. The key of x is never changed.
+	 *
+	 */
+	public int delete(HeapNode x) 
 	{    
-	    // Make x smaller than current minimum
-	    int diff = x.key - min.key + 1;
-	    if (diff > 0) {
-	        decreaseKey(x, diff);
+	    checkNotRetired(x);
+	    if (adaptiveMaxCut > 0) {
+	        adaptNodesToCut(1);
 	    }
-	    
-	    // Delete minimum (which is now x)
-	    int links = deleteMin();
-	    return links;
+	    if (x.prev == null && !x.buffered) {
+	        drainOffers(); // x may still be on the offer stack
+	    }
+	    if (x.buffered) {
+	        removeFromBuffer(bufferIndexOf(x));
+	        size--;
+	        retireNode(x);
+	        return 0;
+	    }
+	    if (x == min) {
+	        return deleteRootMin();
+	    }
+
+	    HeapNode parent = x.parent;
+	    if (parent != null) {
+	        cut(x, parent);
+	        cascadingCut(parent);
+	    }
+
+	    // x is now a root other than min, so min stays valid
+	    if (consolidationBudget > 0) {
+	        unsettle(x);
+	    }
+	    if (x.child != null) {
+	        addChildrenToRootList(x);
+	    }
+	    removeNodeFromRootList(x);
+	    length--;
+	    size--;
+	    retireNode(x);
+	    return consolidationBudget > 0 ? settleRoots(consolidationBudget) : 0;
+	}
+
+	/**
+	 * 
+	 * Return the current cascading threshold c.
+	 *
+	 */
+	public int nodesToCut()
+	{
+		return nodesToCut;
+	}
+
+	/**
+	 * 
+	 * pre: 2 <= minC <= maxC
+	 * 
+	 * Let the heap tune c by itself within [minC, maxC]. Every ADAPT_WINDOW
+	 * operations the heap compares the links plus cuts per operation of the
+	 * window that just ended with the one before, and doubles or halves c,
+	 * turning around whenever the cost went up. deleteMin, delete,
+	 * decreaseKey and increaseKey count as one operation each, buffered or
+	 * not; extractMin(k) and decreaseKeyAll count one per node they remove
+	 * or change. insert and meld are not counted, but links they cause in
+	 * incremental mode still count as work. A
+	 * small c keeps trees bushy and ranks low, so deleteMin links less but
+	 * decreaseKey cascades more; a large c is the other way round, so the
+	 * best c follows the current mix of operations.
+	 * Changing c never breaks the heap: it only affects when a node with
+	 * enough lost children becomes a loser from then on.
+	 *
+	 */
+	public void setAdaptiveCut(int minC, int maxC)
+	{
+		if (minC < 2 || maxC < minC) {
+			throw new IllegalArgumentException("Adaptive c needs 2 <= minC <= maxC");
+		}
+		adaptiveMinCut = minC;
+		adaptiveMaxCut = maxC;
+		nodesToCut = Math.min(Math.max(nodesToCut, minC), maxC);
+		windowOps = 0;
+		windowStartWork = totalLinksCount + totalCutsCount;
+		lastWindowCost = -1;
+	}
+
+	/**
+	 * 
+	 * Stop tuning c and keep its current value.
+	 *
+	 */
+	public void disableAdaptiveCut()
+	{
+		adaptiveMinCut = 0;
+		adaptiveMaxCut = 0;
+	}
+
+	/**
+	 * 
+	 * Return the links plus cuts per operation measured over the last
+	 * complete adaptive window, -1 if there is none yet.
+	 *
+	 */
+	public double workPerOperation()
+	{
+		return lastWindowCost;
+	}
+
+	/**
+	 * Count ops operations and, at the end of a window, move c one step in
+	 * the direction that lowered the links plus cuts per operation.
+	 */
+	private void adaptNodesToCut(int ops) {
+		windowOps += ops;
+		if (windowOps < ADAPT_WINDOW) {
+			return;
+		}
+		int work = totalLinksCount + totalCutsCount;
+		double cost = (double) (work - windowStartWork) / windowOps;
+		if (lastWindowCost >= 0 && cost > lastWindowCost) {
+			cutStepUp = !cutStepUp;
+		}
+		lastWindowCost = cost;
+		windowOps = 0;
+		windowStartWork = work;
+
+		long next = cutStepUp ? 2L * nodesToCut : nodesToCut / 2;
+		next = Math.min(Math.max(next, adaptiveMinCut), adaptiveMaxCut);
+		if (next == nodesToCut) {
+			cutStepUp = !cutStepUp; // at a bound, probe the other way next time
+		}
+		nodesToCut = (int) next;
 	}
 
 	/**
@@ -434,6 +1865,28 @@ public class FibonacciHeap
 		return totalCutsCount;
 	}
 
+	/**
+	 * 
+	 * Return how many ancestors the last decreaseKey cut while cascading
+	 * (0 if it cut nothing or only cut x itself).
+	 * 
+	 */
+	public int lastCascadeDepth()
+	{
+		return lastCascadeDepth;
+	}
+
+	/**
+	 * 
+	 * Return the longest cascading-cut chain of any decreaseKey so far.
+	 * delete, increaseKey and decreaseKeyAll leave both depths unchanged.
+	 * 
+	 */
+	public int maxCascadeDepth()
+	{
+		return maxCascadeDepth;
+	}
+
 	/**
 	 * 
 	 * Meld the heap with heap2
@@ -441,13 +1894,30 @@ public class FibonacciHeap
 	 */
 	public void meld(FibonacciHeap heap2)
 	{
+		drainOffers();
+		if (heap2 != null) {
+			heap2.drainOffers();
+			heap2.flushBuffer();
+		}
 		if (heap2 == null || heap2.min == null) {
 			return;
 		}
+		if (this.consolidationBudget > 0) {
+			// heap2's roots join as pending and drain at budget per operation;
+			// this costs O(heap2.numTrees()) pushes
+			int pushes = pendingPushes;
+			HeapNode node = heap2.min;
+			do {
+				pushPending(node);
+				node = node.next;
+			} while (node != heap2.min);
+			pendingPushes = pushes;
+		}
 		
 		if (this.min == null) {
 			this.min = heap2.min;
-			this.size = heap2.size;
+			this.size += heap2.size; // this heap may still hold buffered nodes
+			this.length = heap2.length;
 			this.totalLinksCount += heap2.totalLinksCount;
 			this.totalCutsCount += heap2.totalCutsCount;
 			return;
@@ -492,7 +1962,7 @@ public class FibonacciHeap
 	 */
 	public int numTrees()
 	{
-		return this.length;
+		return this.length + bufferCount;
 	}	
 	
 	public void visualize() {
@@ -506,6 +1976,46 @@ public class FibonacciHeap
         }
     }
 
+	/**
+	 * Decides, after deleteMin has removed the minimum, whether the root list
+	 * is consolidated or only scanned for the new minimum. Deferring links
+	 * makes deleteMin cheaper while the root list is short and lets linking
+	 * happen in fewer, larger batches.
+	 *
+	 */
+	public interface ConsolidationPolicy{
+		/** Always consolidate. This is the default. */
+		ConsolidationPolicy EAGER = (numTrees, size) -> true;
+
+		/**
+		 * Return true if a root list of numTrees trees holding size items
+		 * should be consolidated now.
+		 */
+		boolean shouldConsolidate(int numTrees, int size);
+
+		/**
+		 * Return a policy that only consolidates once the heap has more than
+		 * maxTrees trees.
+		 */
+		static ConsolidationPolicy lazy(int maxTrees) {
+			if (maxTrees < 1) {
+				throw new IllegalArgumentException("maxTrees must be positive");
+			}
+			return (numTrees, size) -> numTrees > maxTrees;
+		}
+
+		/**
+		 * Return a policy that consolidates once the heap has more than
+		 * factor * (floor(log2 size) + 1) trees.
+		 */
+		static ConsolidationPolicy bounded(double factor) {
+			if (!(factor >= 1)) {
+				throw new IllegalArgumentException("factor must be at least 1");
+			}
+			return (numTrees, size) -> numTrees > factor * (32 - Integer.numberOfLeadingZeros(size));
+		}
+	}
+
 	/**
 	 * Class implementing a node in a Fibonacci Heap.
 	 *  
@@ -520,5 +2030,7 @@ public class FibonacciHeap
 		public int rank;
 		public boolean isLoser;
 		public int markCnt; // For visualizer compatibility
+		public short generation; // Even while in the heap, bumped whenever the node is removed or reused
+		public boolean buffered; // In the insert buffer rather than the root list
 	}
 }
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Comprehensive tester for the FibonacciHeap implementation
@@ -37,6 +39,75 @@ public class FibonacciHeapTester {
             // Metrics test
             testMetrics(c);
 
+            // Struct-of-arrays variant
+            testArrayHeap(c);
+
+            // Off-heap nodes
+            testOffHeap(c);
+
+            // long and double key specializations
+            testPrimitiveKeyHeaps(c);
+
+            // Typed payloads and comparator keys
+            testGenericHeaps(c);
+
+            // Opt-in node recycling
+            testNodeRecycling(c);
+
+            // Cascading cut depth reporting
+            testCascadeDepth(c);
+
+            // Bulk insert
+            testInsertAll(c);
+
+            // Batched decreaseKey
+            testDecreaseKeyAll(c);
+
+            // Multi-extract
+            testExtractMin(c);
+
+            // Direct delete
+            testDirectDelete(c);
+
+            // Double-ended heap
+            testDoubleEnded(c);
+
+            // Priority demotion
+            testIncreaseKey(c);
+
+            // Incremental consolidation
+            testIncrementalConsolidation(c);
+
+            // Consolidation policies
+            testConsolidationPolicies(c);
+
+            // Adaptive c
+            testAdaptiveCut(c);
+
+            // Compact nodes
+            testCompactHeap(c);
+
+            // Inline small heaps
+            testSmallHeap(c);
+
+            // Insert buffer
+            testInsertBuffer(c);
+
+            // Flat-combining concurrent front end
+            testFlatCombining(c);
+
+            // Multi-producer offers
+            testOffer(c);
+
+            // Relaxed MultiQueue
+            testMultiQueue(c);
+
+            // Parallel build and k-way meld
+            testParallelBuild(c);
+
+            // Work-stealing scheduler
+            testWorkStealing(c);
+
             System.out.println();
         }
 
@@ -413,6 +484,1375 @@ public class FibonacciHeapTester {
         }
     }
 
+    /**
+     * Tests the struct-of-arrays ArrayFibonacciHeap against a sorted reference
+     */
+    private static void testArrayHeap(int c) {
+        System.out.println("\n-> Testing ArrayFibonacciHeap");
+        ArrayFibonacciHeap heap = new ArrayFibonacciHeap(c);
+        assertTrue("Empty array heap findMin should return NIL", heap.findMin() == ArrayFibonacciHeap.NIL);
+
+        int n = 2000;
+        int[] handles = new int[n];
+        for (int i = 0; i < n; i++) {
+            handles[i] = heap.insert(n - i);
+        }
+        assertTrue("Array heap size should be " + n, heap.size() == n);
+        assertTrue("Array heap min should be 1", heap.key(heap.findMin()) == 1);
+
+        heap.deleteMin();
+        for (int i = 0; i < n / 2; i += 3) {
+            heap.decreaseKey(handles[i], heap.key(handles[i]) - 1);
+        }
+        heap.delete(handles[1]);
+        assertTrue("Array heap size after deleteMin and delete", heap.size() == n - 2);
+
+        int previous = Integer.MIN_VALUE;
+        boolean sorted = true;
+        while (heap.size() > 0) {
+            int key = heap.key(heap.findMin());
+            sorted &= key >= previous;
+            previous = key;
+            heap.deleteMin();
+        }
+        assertTrue("Array heap should drain in sorted order", sorted);
+        assertTrue("Array heap should be empty after draining", heap.numTrees() == 0);
+        assertTrue("Array heap should count links", heap.totalLinks() > 0);
+
+        // delete of a node other than the minimum links nothing
+        heap = new ArrayFibonacciHeap(c);
+        for (int i = 0; i < n; i++) {
+            handles[i] = heap.insert(i + 1);
+        }
+        heap.deleteMin();
+        int deleteLinks = 0;
+        for (int i = 3; i < n; i += 5) {
+            deleteLinks += heap.delete(handles[i]);
+        }
+        int expected = n - 1 - (n - 3 + 4) / 5;
+        assertTrue("Array heap delete of a non-minimum should not consolidate",
+                deleteLinks == 0 && heap.size() == expected && heap.key(heap.findMin()) == 2);
+
+        boolean exceptionCaught = false;
+        try {
+            heap.decreaseKey(handles[3], 1);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Array heap decreaseKey of a freed handle should throw exception", exceptionCaught);
+        exceptionCaught = false;
+        try {
+            heap.delete(handles[0]);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Array heap delete of a freed handle should throw exception",
+                exceptionCaught && heap.size() == expected);
+
+        previous = Integer.MIN_VALUE;
+        sorted = true;
+        int count = 0;
+        while (heap.size() > 0) {
+            int key = heap.key(heap.findMin());
+            sorted &= key >= previous && key % 5 != 4;
+            previous = key;
+            heap.deleteMin();
+            count++;
+        }
+        assertTrue("Array heap should drain the rest in sorted order after deletes", sorted && count == expected);
+    }
+
+    /**
+     * Tests OffHeapFibonacciHeap operations, free-list reuse across chunks and close
+     */
+    private static void testOffHeap(int c) {
+        System.out.println("\n-> Testing off-heap heap");
+        OffHeapFibonacciHeap heap = new OffHeapFibonacciHeap(c);
+        // More nodes than one 2^16-node chunk holds
+        int n = (1 << 16) + 1000;
+        long[] handleOfKey = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            int key = (int) ((i * 7919L) % n) + 1;
+            handleOfKey[key] = heap.insert(key);
+        }
+        assertTrue("Off-heap insert should track size and min",
+                heap.size() == n && heap.key(heap.findMin()) == 1 && heap.numTrees() == n);
+
+        long links = heap.deleteMin();
+        assertTrue("Off-heap deleteMin should find the next minimum",
+                heap.key(heap.findMin()) == 2 && heap.size() == n - 1 && heap.numTrees() < 32);
+        assertTrue("Off-heap deleteMin should count every link",
+                links == n - 1 - heap.numTrees() && links == heap.totalLinks());
+
+        long decreased = handleOfKey[50000];
+        int cuts = heap.decreaseKey(decreased, 49999);
+        assertTrue("Off-heap decreaseKey should update min", heap.findMin() == decreased && heap.key(decreased) == 1);
+        assertTrue("Off-heap decreaseKey should count its cuts", heap.totalCuts() >= cuts);
+
+        heap.delete(handleOfKey[3]);
+        assertTrue("Off-heap delete should remove a non-minimal node",
+                heap.size() == n - 2 && heap.findMin() == decreased);
+
+        // Free one node from each chunk; inserts reuse them, last freed first
+        long firstChunk = handleOfKey[10];
+        long secondChunk = -1;
+        for (int key = 11; secondChunk < 0; key++) {
+            if (handleOfKey[key] >= 1 << 16) {
+                secondChunk = handleOfKey[key];
+            }
+        }
+        int secondKey = heap.key(secondChunk);
+        heap.delete(firstChunk);
+        heap.delete(secondChunk);
+        long reusedSecond = heap.insert(10);
+        long reusedFirst = heap.insert(secondKey);
+        assertTrue("Off-heap insert should reuse freed nodes across chunks",
+                reusedSecond == secondChunk && reusedFirst == firstChunk);
+        assertTrue("Reused off-heap nodes should carry their new keys",
+                heap.key(reusedSecond) == 10 && heap.key(reusedFirst) == secondKey && heap.size() == n - 2);
+
+        long expected = heap.size();
+        long drained = 0;
+        int previous = 0;
+        boolean sorted = true;
+        while (heap.findMin() != OffHeapFibonacciHeap.NIL) {
+            int key = heap.key(heap.findMin());
+            sorted &= key >= previous;
+            previous = key;
+            heap.deleteMin();
+            drained++;
+        }
+        assertTrue("Off-heap heap should drain in sorted order", sorted && drained == expected && heap.size() == 0);
+
+        long handle = heap.insert(7);
+        heap.close();
+        assertTrue("close should empty the heap", heap.size() == 0 && heap.findMin() == OffHeapFibonacciHeap.NIL);
+        boolean exceptionCaught = false;
+        try {
+            heap.key(handle);
+        } catch (IllegalStateException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Handles should be unusable after close", exceptionCaught);
+    }
+
+    /**
+     * Tests LongFibonacciHeap and DoubleFibonacciHeap with unrestricted keys
+     */
+    private static void testPrimitiveKeyHeaps(int c) {
+        System.out.println("\n-> Testing long and double key heaps");
+        LongFibonacciHeap longHeap = new LongFibonacciHeap(c);
+        longHeap.insert(0L, "zero");
+        LongFibonacciHeap.HeapNode big = longHeap.insert(Long.MAX_VALUE, "max");
+        longHeap.insert(-5_000_000_000L, "negative");
+        longHeap.insert(42L, "answer");
+        assertTrue("Long heap should accept non-positive keys", longHeap.findMin().key == -5_000_000_000L);
+
+        longHeap.deleteMin();
+        longHeap.decreaseKeyBy(big, Long.MAX_VALUE - 40);
+        assertTrue("Long heap decreaseKeyBy should subtract the difference", big.key == 40 && longHeap.findMin().key == 0L);
+        longHeap.decreaseKey(big, Long.MIN_VALUE);
+        assertTrue("Long heap decreaseKey should take the new key", longHeap.findMin() == big);
+        longHeap.delete(big);
+        assertTrue("Long heap delete should remove the node", longHeap.findMin().key == 0L && longHeap.size() == 2);
+
+        DoubleFibonacciHeap doubleHeap = new DoubleFibonacciHeap(c);
+        DoubleFibonacciHeap.HeapNode half = doubleHeap.insert(0.5, "half");
+        doubleHeap.insert(-1.25, "negative");
+        doubleHeap.insert(Double.POSITIVE_INFINITY, "infinity");
+        assertTrue("Double heap should track fractional minimum", doubleHeap.findMin().key == -1.25);
+
+        doubleHeap.decreaseKey(half, -2.5);
+        assertTrue("Double heap decreaseKey should update min", doubleHeap.findMin() == half);
+        doubleHeap.decreaseKeyBy(half, 0.25);
+        assertTrue("Double heap decreaseKeyBy should subtract the difference", doubleHeap.findMin().key == -2.75);
+
+        boolean exceptionCaught = false;
+        try {
+            doubleHeap.insert(Double.NaN, "nan");
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Double heap should reject NaN keys", exceptionCaught);
+    }
+
+    /**
+     * Tests TypedFibonacciHeap payloads and ComparatorFibonacciHeap ordering
+     */
+    private static void testGenericHeaps(int c) {
+        System.out.println("\n-> Testing typed and comparator heaps");
+        TypedFibonacciHeap<int[]> typedHeap = new TypedFibonacciHeap<>(c);
+        int[] payload = {7, 8, 9};
+        TypedFibonacciHeap.HeapNode<int[]> node = typedHeap.insert(30, payload);
+        for (int i = 1; i <= 20; i++) {
+            typedHeap.insert(100 + i, new int[] {i});
+        }
+        typedHeap.decreaseKey(node, 29);
+        assertTrue("Typed heap should return the payload object with the min", typedHeap.findMin().value == payload);
+        typedHeap.deleteMin();
+        assertTrue("Typed heap should keep payloads after consolidation", typedHeap.findMin().value[0] == 1);
+
+        ComparatorFibonacciHeap<String, Integer> reverseHeap =
+                new ComparatorFibonacciHeap<>(c, Comparator.reverseOrder());
+        String[] words = {"pear", "apple", "zucchini", "fig", "mango"};
+        for (int i = 0; i < words.length; i++) {
+            reverseHeap.insert(words[i], i);
+        }
+        assertTrue("Comparator heap should honour the comparator", reverseHeap.findMin().key.equals("zucchini"));
+        reverseHeap.deleteMin();
+        assertTrue("Comparator heap deleteMin should follow the comparator", reverseHeap.findMin().value == 0);
+
+        ComparatorFibonacciHeap<String, Integer> naturalHeap = ComparatorFibonacciHeap.naturalOrder(c);
+        ComparatorFibonacciHeap.HeapNode<String, Integer> fig = null;
+        for (int i = 0; i < words.length; i++) {
+            ComparatorFibonacciHeap.HeapNode<String, Integer> inserted = naturalHeap.insert(words[i], i);
+            if (words[i].equals("fig")) fig = inserted;
+        }
+        naturalHeap.deleteMin();
+        naturalHeap.decreaseKey(fig, "aardvark");
+        assertTrue("Comparator heap decreaseKey should take the new key", naturalHeap.findMin() == fig);
+    }
+
+    /**
+     * Tests node recycling and stale handle detection
+     */
+    private static void testNodeRecycling(int c) {
+        System.out.println("\n-> Testing node recycling");
+        FibonacciHeap heap = new FibonacciHeap(c, true);
+
+        FibonacciHeap.HeapNode first = heap.insert(5, "first");
+        int firstGeneration = first.generation;
+        heap.insert(9, "other");
+        assertTrue("Fresh node handle should be valid", heap.isValid(first, firstGeneration));
+
+        heap.deleteMin();
+        assertTrue("Removed node handle should be stale", !heap.isValid(first, firstGeneration));
+
+        boolean exceptionCaught = false;
+        try {
+            heap.decreaseKey(first, 1);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("decreaseKey on a pooled node should throw", exceptionCaught);
+
+        FibonacciHeap.HeapNode reused = heap.insert(3, "reused");
+        assertTrue("insert should reuse the removed node", reused == first);
+        assertTrue("Reused node should not validate with the old generation", !heap.isValid(reused, firstGeneration));
+        assertTrue("Reused node should validate with its new generation", heap.isValid(reused, reused.generation));
+        assertTrue("Reused node should start clean", reused.child == null && reused.parent == null && reused.rank == 0);
+
+        exceptionCaught = false;
+        try {
+            heap.decreaseKey(reused, 1, firstGeneration);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("decreaseKey with a stale generation should throw", exceptionCaught && reused.key == 3);
+        exceptionCaught = false;
+        try {
+            heap.delete(reused, firstGeneration);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("delete with a stale generation should throw", exceptionCaught && heap.findMin() == reused);
+        heap.decreaseKey(reused, 1, reused.generation);
+        assertTrue("decreaseKey with the current generation should apply", reused.key == 2);
+
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(100 + i, "");
+        }
+        while (heap.size() > 1) {
+            heap.deleteMin();
+        }
+        assertTrue("Recycling heap should still drain to the maximum", heap.findMin().key == 1099);
+    }
+
+    /**
+     * Tests that every decreaseKey reports its cascade depth consistently
+     */
+    private static void testCascadeDepth(int c) {
+        System.out.println("\n-> Testing cascading cut depth");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        int n = 4096;
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(n + i, "");
+        }
+        heap.deleteMin();
+
+        boolean consistent = true;
+        int deepest = 0;
+        Random random = new Random(c);
+        for (int i = 0; i < n / 2; i++) {
+            FibonacciHeap.HeapNode node = nodes[1 + random.nextInt(n - 1)];
+            if (node.key <= 1) continue;
+            int cuts = heap.decreaseKey(node, 1 + random.nextInt(node.key - 1));
+            int depth = heap.lastCascadeDepth();
+            consistent &= cuts == 0 ? depth == 0 : cuts == depth + 1;
+            deepest = Math.max(deepest, depth);
+        }
+        assertTrue("decreaseKey cuts should equal 1 + lastCascadeDepth", consistent);
+        assertTrue("maxCascadeDepth should track the deepest cascade", heap.maxCascadeDepth() == deepest);
+
+        // Only decreaseKey reports depths; delete cascades without touching them
+        int last = heap.lastCascadeDepth();
+        for (int i = 1; i < n; i += 2) {
+            if (nodes[i].parent != null) {
+                heap.delete(nodes[i]);
+            }
+        }
+        assertTrue("delete should leave the cascade depths unchanged",
+                heap.lastCascadeDepth() == last && heap.maxCascadeDepth() == deepest);
+        System.out.println("   Deepest cascade: " + deepest);
+    }
+
+    /**
+     * Tests insertAll and the of builder
+     */
+    private static void testInsertAll(int c) {
+        System.out.println("\n-> Testing bulk insert");
+        int[] keys = new int[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (i * 7919) % keys.length + 1;
+        }
+
+        FibonacciHeap built = FibonacciHeap.of(keys, c);
+        assertTrue("of should hold every key", built.size() == keys.length && built.numTrees() == keys.length);
+        assertTrue("of should find the minimum", built.findMin().key == 1);
+
+        FibonacciHeap heap = new FibonacciHeap(c);
+        heap.insert(500, "existing");
+        FibonacciHeap.HeapNode[] nodes = heap.insertAll(keys);
+        boolean inOrder = nodes.length == keys.length;
+        for (int i = 0; i < nodes.length && inOrder; i++) {
+            inOrder = nodes[i].key == keys[i];
+        }
+        assertTrue("insertAll should return handles in key order", inOrder);
+        assertTrue("insertAll should extend a non-empty heap", heap.size() == keys.length + 1 && heap.numTrees() == keys.length + 1);
+
+        heap.decreaseKey(nodes[keys.length - 1], nodes[keys.length - 1].key - 1);
+        heap.deleteMin();
+        heap.deleteMin();
+        assertTrue("Heap built by insertAll should consolidate normally", heap.findMin().key == 2 && checkHeapProperty(heap));
+
+        boolean exceptionCaught = false;
+        try {
+            heap.insertAll(new int[] {3, 0});
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("insertAll should reject non-positive keys before inserting", exceptionCaught && heap.size() == keys.length - 1);
+    }
+
+    /**
+     * Tests batched decreaseKey, including coalescing and rollback
+     */
+    private static void testDecreaseKeyAll(int c) {
+        System.out.println("\n-> Testing batched decreaseKey");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        int n = 2000;
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = heap.insert(10 * (i + 1), "");
+        }
+        heap.deleteMin();
+
+        FibonacciHeap.HeapNode[] batch = new FibonacciHeap.HeapNode[n / 2];
+        int[] diffs = new int[n / 2];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = nodes[1 + (i * 3) % (n - 1)]; // wraps around, so some nodes repeat
+            diffs[i] = 3;
+        }
+        int expectedKey = nodes[4].key;
+        for (int i = 0; i < batch.length; i++) {
+            if (batch[i] == nodes[4]) expectedKey -= diffs[i];
+        }
+
+        int cutsBefore = heap.totalCuts();
+        int cuts = heap.decreaseKeyAll(batch, diffs);
+        assertTrue("decreaseKeyAll should return the cuts it made", heap.totalCuts() - cutsBefore == cuts);
+        assertTrue("decreaseKeyAll should coalesce repeated nodes", nodes[4].key == expectedKey);
+        assertTrue("decreaseKeyAll should keep the heap property", checkHeapProperty(heap));
+        assertTrue("decreaseKeyAll should update min", heap.findMin().key == 17);
+
+        int keyBefore = nodes[10].key;
+        boolean exceptionCaught = false;
+        try {
+            heap.decreaseKeyAll(new FibonacciHeap.HeapNode[] {nodes[10], nodes[11]}, new int[] {1, -1});
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Invalid batch should throw and leave keys unchanged", exceptionCaught && nodes[10].key == keyBefore);
+    }
+
+    /**
+     * Tests extracting the k smallest items with a single consolidation
+     */
+    private static void testExtractMin(int c) {
+        System.out.println("\n-> Testing extractMin(k)");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        int n = 1000;
+        for (int i = 0; i < n; i++) {
+            heap.insert((i * 7919) % n + 1, "");
+        }
+        heap.deleteMin();
+
+        int linksBefore = heap.totalLinks();
+        FibonacciHeap.HeapNode[] smallest = heap.extractMin(10);
+        boolean inOrder = smallest.length == 10;
+        for (int i = 0; i < smallest.length && inOrder; i++) {
+            inOrder = smallest[i].key == i + 2;
+        }
+        assertTrue("extractMin(k) should return the k smallest in order", inOrder);
+        assertTrue("extractMin(k) should update size", heap.size() == n - 11);
+        assertTrue("extractMin(k) should leave the next minimum", heap.findMin().key == 12);
+        assertTrue("extractMin(k) should leave a valid heap", checkHeapProperty(heap));
+        assertTrue("extractMin(k) links should show up in totalLinks", heap.totalLinks() >= linksBefore);
+
+        FibonacciHeap.HeapNode[] rest = heap.extractMin(n);
+        assertTrue("extractMin(k) past the end should drain the heap", rest.length == n - 11 && heap.findMin() == null && heap.numTrees() == 0);
+
+        // Unconsolidated heaps, every inserted key still its own root: one
+        // short enough to be heapified, one long enough to be consolidated first
+        Random random = new Random(c);
+        for (int roots : new int[] {FibonacciHeap.EXTRACT_CONSOLIDATE_ROOTS, 100000}) {
+            int[] keys = new int[roots];
+            FibonacciHeap flat = new FibonacciHeap(c);
+            for (int i = 0; i < roots; i++) {
+                keys[i] = 1 + random.nextInt(10 * roots);
+                flat.insert(keys[i], "");
+            }
+            Arrays.sort(keys);
+            int k = roots / 50;
+            FibonacciHeap.HeapNode[] first = flat.extractMin(k);
+            boolean sorted = first.length == k;
+            for (int i = 0; i < first.length && sorted; i++) {
+                sorted = first[i].key == keys[i];
+            }
+            assertTrue("extractMin(k) on an unconsolidated heap should return the k smallest in order", sorted);
+            assertTrue("extractMin(k) on an unconsolidated heap should leave it consolidated",
+                    flat.size() == roots - k && flat.numTrees() <= 32 - Integer.numberOfLeadingZeros(roots)
+                    && flat.findMin().key == keys[k]);
+            FibonacciHeap.HeapNode[] second = flat.extractMin(k);
+            sorted = second.length == k;
+            for (int i = 0; i < second.length && sorted; i++) {
+                sorted = second[i].key == keys[k + i];
+            }
+            assertTrue("extractMin(k) should take children of extracted nodes into account", sorted);
+            assertTrue("Heap property should hold after extractMin(k)", checkHeapProperty(flat));
+        }
+    }
+
+    /**
+     * Tests that delete removes a non-minimum node without consolidating
+     */
+    private static void testDirectDelete(int c) {
+        System.out.println("\n-> Testing direct delete");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[65];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i + 1, "");
+        }
+        heap.deleteMin(); // leaves a single binomial tree of 64 nodes
+
+        FibonacciHeap.HeapNode leaf = nodes[nodes.length - 1];
+        int treesBefore = heap.numTrees();
+        int linksBefore = heap.totalLinks();
+        int links = heap.delete(leaf);
+        assertTrue("Deleting a non-minimum node should not link", links == 0 && heap.totalLinks() == linksBefore);
+        assertTrue("Deleting a leaf should only cut it from its parent", heap.numTrees() == treesBefore + heap.totalCuts() - 1);
+        assertTrue("delete should not change the deleted key", leaf.key == nodes.length);
+        assertTrue("delete should shrink the heap", heap.size() == nodes.length - 2);
+
+        int sizeBefore = heap.size();
+        heap.delete(heap.findMin());
+        assertTrue("Deleting the minimum should consolidate", heap.size() == sizeBefore - 1 && heap.findMin().key == 3);
+        assertTrue("Heap property should hold after deletes", checkHeapProperty(heap));
+
+        FibonacciHeap zeroHeap = new FibonacciHeap(c);
+        FibonacciHeap.HeapNode zero = zeroHeap.insert(5, "");
+        FibonacciHeap.HeapNode other = zeroHeap.insert(9, "");
+        zeroHeap.decreaseKey(zero, 5);
+        zeroHeap.delete(other);
+        assertTrue("delete should work when the minimum key is zero", zeroHeap.size() == 1 && zeroHeap.findMin() == zero);
+    }
+
+    /**
+     * Tests findMax/deleteMax on the double-ended heap alongside min operations
+     */
+    private static void testDoubleEnded(int c) {
+        System.out.println("\n-> Testing double-ended heap");
+        DoubleEndedFibonacciHeap heap = new DoubleEndedFibonacciHeap(c);
+        int n = 500;
+        DoubleEndedFibonacciHeap.Entry[] entries = new DoubleEndedFibonacciHeap.Entry[n];
+        for (int i = 0; i < n; i++) {
+            entries[i] = heap.insert((i * 7919) % n + 1, "e" + i);
+        }
+        assertTrue("findMin and findMax should see both ends", heap.findMin().key() == 1 && heap.findMax().key() == n);
+
+        heap.deleteMax();
+        heap.deleteMin();
+        assertTrue("deleteMax and deleteMin should shrink both ends", heap.findMax().key() == n - 1 && heap.findMin().key() == 2);
+
+        DoubleEndedFibonacciHeap.Entry top = heap.findMax();
+        heap.decreaseKey(top, top.key() - 1);
+        assertTrue("decreaseKey of the max should move it to the min end", heap.findMin() == top && heap.findMax().key() == n - 2);
+
+        DoubleEndedFibonacciHeap other = new DoubleEndedFibonacciHeap(c);
+        other.insert(10_000, "big");
+        heap.meld(other);
+        assertTrue("meld should keep both ends", heap.findMax().key() == 10_000 && heap.size() == n - 1);
+
+        int previous = Integer.MAX_VALUE;
+        boolean descending = true;
+        while (heap.size() > 0) {
+            int key = heap.findMax().key();
+            descending &= key <= previous;
+            previous = key;
+            heap.deleteMax();
+        }
+        assertTrue("Repeated deleteMax should drain in descending order", descending && heap.findMin() == null);
+    }
+
+    /**
+     * Tests increaseKey keeps the handle and the heap property
+     */
+    private static void testIncreaseKey(int c) {
+        System.out.println("\n-> Testing increaseKey");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[33];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(i + 1, "n" + i);
+        }
+        heap.deleteMin(); // single tree rooted at key 2
+
+        FibonacciHeap.HeapNode root = heap.findMin();
+        int treesBefore = heap.numTrees();
+        int cutsBefore = heap.totalCuts();
+        int cuts = heap.increaseKey(root, 100);
+        assertTrue("increaseKey should keep the same node", root.key == 102 && root.info.equals("n1"));
+        assertTrue("increaseKey should move violating children to the root list", heap.numTrees() == treesBefore + cuts && cuts > 0);
+        assertTrue("increaseKey should count its cuts", heap.totalCuts() - cutsBefore == cuts);
+        assertTrue("increaseKey of the min should find the new min", heap.findMin().key == 3);
+        assertTrue("Heap property should hold after increaseKey", checkHeapProperty(heap));
+
+        FibonacciHeap.HeapNode inner = nodes[20];
+        heap.increaseKey(inner, 5);
+        assertTrue("increaseKey of an inner node should keep the heap property", checkHeapProperty(heap) && heap.size() == 32);
+
+        boolean exceptionCaught = false;
+        try {
+            heap.increaseKey(inner, 0);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("increaseKey with zero should throw exception", exceptionCaught);
+    }
+
+    /**
+     * Tests incremental consolidation bounds the links per deleteMin
+     */
+    private static void testIncrementalConsolidation(int c) {
+        System.out.println("\n-> Testing incremental consolidation");
+        int budget = 4;
+        FibonacciHeap heap = new FibonacciHeap(c);
+        heap.setConsolidationBudget(budget);
+        Random random = new Random(c);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[2000];
+        for (int i = 0; i < nodes.length; i++) {
+            int key = 1 + random.nextInt(1000000);
+            nodes[i] = heap.insert(key, "n" + i);
+        }
+        for (int i = 0; i < nodes.length; i += 7) {
+            heap.decreaseKey(nodes[i], 1);
+        }
+
+        boolean bounded = true;
+        int previous = 0;
+        boolean sorted = true;
+        while (heap.findMin() != null) {
+            int key = heap.findMin().key;
+            sorted &= key >= previous;
+            previous = key;
+            int logSize = 32 - Integer.numberOfLeadingZeros(heap.size());
+            bounded &= heap.deleteMin() <= budget + 2 * logSize;
+        }
+        assertTrue("Incremental deleteMin should link at most budget plus O(log n) trees", bounded);
+        assertTrue("Incremental deleteMin should drain in sorted order", sorted && heap.size() == 0);
+
+        // A deleteMin-only drain must not build up a backlog of unsettled roots
+        heap = new FibonacciHeap(c);
+        heap.setConsolidationBudget(2);
+        int n = 16384;
+        for (int i = 0; i < n; i++) {
+            heap.insert(1 + random.nextInt(1 << 30), "");
+        }
+        int maxTrees = 0;
+        while (heap.findMin() != null) {
+            heap.deleteMin();
+            maxTrees = Math.max(maxTrees, heap.numTrees());
+        }
+        assertTrue("Incremental drain should keep O(log n) trees", maxTrees <= 2 * (32 - Integer.numberOfLeadingZeros(n)));
+
+        // increaseKey cuts children into the root list, and must settle them too
+        heap = new FibonacciHeap(c);
+        heap.setConsolidationBudget(2);
+        FibonacciHeap.HeapNode[] handles = new FibonacciHeap.HeapNode[n];
+        for (int i = 0; i < n; i++) {
+            handles[i] = heap.insert(1 + random.nextInt(1 << 20), "");
+        }
+        Set<FibonacciHeap.HeapNode> removed = new HashSet<>();
+        for (int i = 0; i < 64; i++) {
+            removed.add(heap.findMin());
+            heap.deleteMin();
+        }
+        maxTrees = 0;
+        boolean exactMin = true;
+        for (int i = 0; i < 4 * n; i++) {
+            FibonacciHeap.HeapNode node = handles[random.nextInt(n)];
+            if (removed.contains(node)) {
+                continue;
+            }
+            heap.increaseKey(node, 1 + random.nextInt(1 << 10));
+            maxTrees = Math.max(maxTrees, heap.numTrees());
+            if (i % 1024 == 0) {
+                int smallest = Integer.MAX_VALUE;
+                for (FibonacciHeap.HeapNode handle : handles) {
+                    if (!removed.contains(handle)) {
+                        smallest = Math.min(smallest, handle.key);
+                    }
+                }
+                exactMin &= heap.findMin().key == smallest;
+            }
+        }
+        assertTrue("Incremental increaseKey should keep O(log n) trees",
+                maxTrees <= 2 * (32 - Integer.numberOfLeadingZeros(n)));
+        assertTrue("Incremental increaseKey should keep findMin exact", exactMin && checkHeapProperty(heap));
+
+        // A backlog from turning the mode on must shrink, and findMin stay exact
+        heap = new FibonacciHeap(c);
+        for (int i = 0; i < n; i++) {
+            heap.insert(n - i, "");
+        }
+        heap.setConsolidationBudget(2);
+        boolean exact = true;
+        int trees = heap.numTrees();
+        boolean shrinking = true;
+        for (int i = 1; i <= 1000; i++) {
+            heap.deleteMin();
+            exact &= heap.findMin().key == i + 1;
+            shrinking &= heap.numTrees() < trees;
+            trees = heap.numTrees();
+        }
+        assertTrue("Incremental deleteMin should find the exact minimum in a large backlog", exact);
+        assertTrue("A large backlog should shrink on every deleteMin", shrinking);
+
+        heap = new FibonacciHeap(c);
+        for (int i = 0; i < 100; i++) {
+            heap.insert(100 - i, "n" + i);
+        }
+        heap.deleteMin();
+        heap.setConsolidationBudget(2);
+        for (int i = 0; i < 50; i++) {
+            heap.insert(1000 + i, "m" + i);
+        }
+        for (int i = 0; i < 60; i++) {
+            heap.deleteMin();
+        }
+        heap.setConsolidationBudget(0);
+        heap.deleteMin();
+        assertTrue("Switching incremental mode on and off should keep the heap valid",
+                checkHeapProperty(heap) && heap.size() == 88 && heap.findMin().key == 63);
+        assertTrue("Incremental consolidation should report its budget", heap.consolidationBudget() == 0);
+    }
+
+    /**
+     * Tests the eager, lazy and bounded consolidation policies
+     */
+    private static void testConsolidationPolicies(int c) {
+        System.out.println("\n-> Testing consolidation policies");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        assertTrue("Default consolidation policy should be eager",
+                heap.consolidationPolicy() == FibonacciHeap.ConsolidationPolicy.EAGER);
+
+        heap.setConsolidationPolicy(FibonacciHeap.ConsolidationPolicy.lazy(50));
+        for (int i = 0; i < 40; i++) {
+            heap.insert(40 - i, "n" + i);
+        }
+        int links = heap.deleteMin();
+        assertTrue("Lazy policy should not link below its threshold",
+                links == 0 && heap.numTrees() == 39 && heap.findMin().key == 2);
+        for (int i = 0; i < 20; i++) {
+            heap.insert(100 + i, "m" + i);
+        }
+        links = heap.deleteMin();
+        assertTrue("Lazy policy should consolidate above its threshold",
+                links > 0 && heap.numTrees() <= 6 && heap.findMin().key == 3 && checkHeapProperty(heap));
+
+        heap = new FibonacciHeap(c);
+        heap.setConsolidationPolicy(FibonacciHeap.ConsolidationPolicy.bounded(2));
+        Random random = new Random(c);
+        boolean bounded = true;
+        boolean sorted = true;
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(1 + random.nextInt(100000), "n" + i);
+        }
+        int previous = 0;
+        while (heap.size() > 0) {
+            int key = heap.findMin().key;
+            sorted &= key >= previous;
+            previous = key;
+            heap.deleteMin();
+            bounded &= heap.numTrees() <= 2 * (32 - Integer.numberOfLeadingZeros(heap.size()));
+        }
+        assertTrue("Bounded policy should keep the root list under its bound", bounded);
+        assertTrue("Bounded policy should still drain in sorted order", sorted);
+
+        boolean exceptionCaught = false;
+        try {
+            heap.setConsolidationPolicy(null);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Null consolidation policy should throw exception", exceptionCaught);
+    }
+
+    /**
+     * Tests adaptive c stays within its bounds and keeps the heap valid
+     */
+    private static void testAdaptiveCut(int c) {
+        System.out.println("\n-> Testing adaptive c");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        heap.setAdaptiveCut(2, 64);
+        assertTrue("Adaptive c should clamp the initial c into its bounds",
+                heap.nodesToCut() >= 2 && heap.nodesToCut() <= 64);
+        assertTrue("No work per operation should be reported before a window ends", heap.workPerOperation() == -1);
+
+        Random random = new Random(c);
+        List<FibonacciHeap.HeapNode> live = new ArrayList<>();
+        boolean inBounds = true;
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            live.add(heap.insert(1 + random.nextInt(1000000), "n" + i));
+        }
+        for (int i = 0; i < 8 * FibonacciHeap.ADAPT_WINDOW; i++) {
+            if (i % 4 == 0) {
+                live.remove(heap.findMin());
+                heap.deleteMin();
+                continue;
+            }
+            FibonacciHeap.HeapNode node = live.get(random.nextInt(live.size()));
+            if (node.key > 1) {
+                heap.decreaseKey(node, 1 + random.nextInt(node.key - 1));
+            }
+            inBounds &= heap.nodesToCut() >= 2 && heap.nodesToCut() <= 64;
+            seen.add(heap.nodesToCut());
+        }
+        assertTrue("Adaptive c should stay within its bounds", inBounds);
+        assertTrue("Adaptive c should move between windows", seen.size() > 1);
+        assertTrue("Adaptive c should report work per operation", heap.workPerOperation() >= 0);
+        assertTrue("Heap property should hold while c adapts", checkHeapProperty(heap));
+
+        heap.disableAdaptiveCut();
+        int frozen = heap.nodesToCut();
+        for (int i = 0; i < 2 * FibonacciHeap.ADAPT_WINDOW; i++) {
+            heap.deleteMin();
+        }
+        assertTrue("Disabling adaptive c should freeze c", heap.nodesToCut() == frozen);
+
+        // extractMin(k), increaseKey and decreaseKeyAll must also fill the window
+        heap = new FibonacciHeap(c);
+        heap.setAdaptiveCut(2, 64);
+        live.clear();
+        for (int i = 0; i < 20000; i++) {
+            live.add(heap.insert(1 + random.nextInt(1000000), "n" + i));
+        }
+        for (int i = 0; i < FibonacciHeap.ADAPT_WINDOW; i++) {
+            if (i % 3 == 0) {
+                for (FibonacciHeap.HeapNode node : heap.extractMin(2)) {
+                    live.remove(node);
+                }
+            } else if (i % 3 == 1) {
+                heap.increaseKey(live.get(random.nextInt(live.size())), 1 + random.nextInt(1000));
+            } else {
+                FibonacciHeap.HeapNode first = live.get(random.nextInt(live.size()));
+                FibonacciHeap.HeapNode second = live.get(random.nextInt(live.size()));
+                if (first.key > 2 && second.key > 2) {
+                    heap.decreaseKeyAll(new FibonacciHeap.HeapNode[] {first, second}, new int[] {1, 1});
+                }
+            }
+        }
+        assertTrue("Every kind of operation should count towards the adaptive window",
+                heap.workPerOperation() >= 0 && checkHeapProperty(heap));
+
+        boolean exceptionCaught = false;
+        try {
+            heap.setAdaptiveCut(5, 4);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Adaptive c with inverted bounds should throw exception", exceptionCaught);
+    }
+
+    /**
+     * Tests CompactFibonacciHeap packed bookkeeping and optional payloads
+     */
+    private static void testCompactHeap(int c) {
+        System.out.println("\n-> Testing compact heap");
+        CompactFibonacciHeap heap = new CompactFibonacciHeap(c);
+        Random random = new Random(c);
+        List<CompactFibonacciHeap.Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            nodes.add(heap.insert(1000 + random.nextInt(100000)));
+        }
+        CompactFibonacciHeap.ValueNode<String> labelled = heap.insert(500, "payload");
+        assertTrue("Compact heap should return the payload with the min",
+                heap.findMin() == labelled && labelled.value.equals("payload"));
+
+        heap.deleteMin();
+        int cuts = 0;
+        for (int i = 0; i < nodes.size(); i += 3) {
+            CompactFibonacciHeap.Node node = nodes.get(i);
+            cuts += heap.decreaseKey(node, node.key - 1 - i / 3);
+        }
+        assertTrue("Compact heap should count cuts", cuts == heap.totalCuts() && cuts > 0);
+        for (int i = 1; i < nodes.size(); i += 3) {
+            heap.delete(nodes.get(i));
+        }
+        int expectedSize = 1000 - (nodes.size() + 1) / 3;
+        assertTrue("Compact heap delete should shrink size", heap.size() == expectedSize);
+
+        int previous = 0;
+        boolean sorted = true;
+        int count = 0;
+        while (heap.findMin() != null) {
+            int key = heap.findMin().key;
+            sorted &= key >= previous;
+            previous = key;
+            heap.deleteMin();
+            count++;
+        }
+        assertTrue("Compact heap should drain in sorted order", sorted && count == expectedSize);
+
+        CompactFibonacciHeap other = new CompactFibonacciHeap(c);
+        other.insert(3);
+        heap.insert(7);
+        heap.meld(other);
+        assertTrue("Compact heap meld should combine heaps", heap.size() == 2 && heap.findMin().key == 3);
+
+        boolean exceptionCaught = false;
+        try {
+            heap.insert(0);
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Compact insert with non-positive key should throw exception", exceptionCaught);
+
+        exceptionCaught = false;
+        try {
+            heap.insert(-3, "negative");
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Compact insert of a value with negative key should throw exception",
+                exceptionCaught && heap.size() == 2);
+    }
+
+    /**
+     * Tests SmallFibonacciHeap inline mode, promotion and stable handles
+     */
+    private static void testSmallHeap(int c) {
+        System.out.println("\n-> Testing small inline heap");
+        SmallFibonacciHeap heap = new SmallFibonacciHeap(c);
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[SmallFibonacciHeap.INLINE_CAPACITY];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = heap.insert(10 * (i + 1), "n" + i);
+        }
+        assertTrue("Small heap should stay inline up to its capacity", !heap.isPromoted() && heap.size() == nodes.length);
+        heap.decreaseKey(nodes[5], 55);
+        assertTrue("Inline decreaseKey should update min", heap.findMin() == nodes[5] && nodes[5].key == 5);
+        heap.delete(nodes[0]);
+        heap.deleteMin();
+        assertTrue("Inline delete and deleteMin should remove items",
+                heap.size() == nodes.length - 2 && heap.findMin() == nodes[1]);
+
+        heap.insert(1000, "a");
+        heap.insert(1001, "b");
+        heap.insert(1002, "c");
+        assertTrue("Small heap should promote past its capacity", heap.isPromoted() && heap.size() == nodes.length + 1);
+        heap.decreaseKey(nodes[7], 79);
+        assertTrue("Handles should stay valid after promotion", heap.findMin() == nodes[7] && nodes[7].key == 1);
+        heap.deleteMin();
+        heap.delete(nodes[2]);
+        assertTrue("Promoted heap should keep working", heap.findMin() == nodes[1] && heap.size() == nodes.length - 1);
+
+        SmallFibonacciHeap left = new SmallFibonacciHeap(c);
+        SmallFibonacciHeap right = new SmallFibonacciHeap(c);
+        left.insert(4, "l");
+        FibonacciHeap.HeapNode r = right.insert(2, "r");
+        left.meld(right);
+        assertTrue("Melding small inline heaps should stay inline",
+                !left.isPromoted() && left.size() == 2 && left.findMin() == r && right.size() == 0);
+        left.meld(heap);
+        assertTrue("Melding with a promoted heap should promote",
+                left.isPromoted() && left.size() == nodes.length + 1 && left.findMin() == r && heap.size() == 0);
+        int previous = 0;
+        boolean sorted = true;
+        while (left.findMin() != null) {
+            sorted &= left.findMin().key >= previous;
+            previous = left.findMin().key;
+            left.deleteMin();
+        }
+        assertTrue("Melded small heap should drain in sorted order", sorted);
+    }
+
+    /**
+     * Tests the insert buffer answers hold-model deleteMins without linking
+     */
+    private static void testInsertBuffer(int c) {
+        System.out.println("\n-> Testing insert buffer");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(1000 + i, "n" + i);
+        }
+        heap.deleteMin();
+        heap.setInsertBuffer(8);
+
+        // Hold model: insert near the minimum, then deleteMin
+        Random random = new Random(c);
+        int linksBefore = heap.totalLinks();
+        boolean exact = true;
+        for (int i = 0; i < 100; i++) {
+            int key = 1 + random.nextInt(900);
+            heap.insert(key, "h" + i);
+            exact &= heap.findMin().key == key;
+            heap.deleteMin();
+        }
+        assertTrue("Buffered hold model should return the inserted minimum", exact);
+        assertTrue("Buffered deleteMin should not link", heap.totalLinks() == linksBefore && heap.size() == 999);
+
+        int treesBefore = heap.numTrees();
+        FibonacciHeap.HeapNode a = heap.insert(500, "a");
+        FibonacciHeap.HeapNode b = heap.insert(600, "b");
+        assertTrue("Buffered nodes should count as trees", a.buffered && heap.numTrees() == treesBefore + 2);
+        heap.decreaseKey(b, 590);
+        assertTrue("decreaseKey should reorder the buffer", heap.findMin() == b);
+        heap.delete(b);
+        assertTrue("delete should remove a buffered node", heap.findMin() == a && heap.size() == 1000);
+
+        FibonacciHeap other = new FibonacciHeap(c);
+        other.setInsertBuffer(4);
+        FibonacciHeap.HeapNode tiny = other.insert(3, "tiny");
+        heap.meld(other);
+        assertTrue("meld should flush the other buffer", !tiny.buffered && heap.findMin() == tiny && heap.size() == 1001);
+
+        heap.setInsertBuffer(0);
+        assertTrue("Disabling the buffer should flush it", !a.buffered && checkHeapProperty(heap));
+        int previous = 0;
+        boolean sorted = true;
+        while (heap.findMin() != null) {
+            sorted &= heap.findMin().key >= previous;
+            previous = heap.findMin().key;
+            heap.deleteMin();
+        }
+        assertTrue("Heap should drain in sorted order after buffering", sorted && heap.size() == 0);
+    }
+
+    /**
+     * Tests FlatCombiningFibonacciHeap under concurrent inserts and deleteMins
+     */
+    private static void testFlatCombining(int c) {
+        System.out.println("\n-> Testing flat-combining heap");
+        FlatCombiningFibonacciHeap heap = new FlatCombiningFibonacciHeap(c);
+        final int threads = 8;
+        final int perThread = 2000;
+        Set<FibonacciHeap.HeapNode> deleted = Collections.synchronizedSet(new HashSet<>());
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    heap.insert(1 + random.nextInt(1000000), "t" + seed);
+                    if (i % 2 == 0) {
+                        deleted.add(heap.deleteMin());
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = threads * perThread / 2;
+        assertTrue("Concurrent deleteMins should return distinct nodes",
+                deleted.size() == remaining && !deleted.contains(null));
+        assertTrue("Concurrent operations should all be applied", heap.size() == remaining);
+
+        FibonacciHeap.HeapNode smallest = heap.insert(2, "small");
+        heap.decreaseKey(smallest, 1);
+        assertTrue("decreaseKey should go through the combiner", heap.findMin() == smallest && smallest.key == 1);
+        heap.delete(smallest);
+
+        int previous = 0;
+        boolean sorted = true;
+        int drained = 0;
+        for (FibonacciHeap.HeapNode node = heap.deleteMin(); node != null; node = heap.deleteMin()) {
+            sorted &= node.key >= previous;
+            previous = node.key;
+            drained++;
+        }
+        assertTrue("Flat-combining heap should drain in sorted order", sorted && drained == remaining);
+        assertTrue("Flat-combining heap should report batch sizes", heap.averageBatchSize() >= 1);
+
+        boolean exceptionCaught = false;
+        try {
+            heap.insert(-1, "bad");
+        } catch (IllegalArgumentException e) {
+            exceptionCaught = true;
+        }
+        assertTrue("Errors should reach the calling thread", exceptionCaught);
+    }
+
+    /**
+     * Tests concurrent offers are drained into the root list by the consumer
+     */
+    private static void testOffer(int c) {
+        System.out.println("\n-> Testing multi-producer offer");
+        FibonacciHeap heap = new FibonacciHeap(c);
+        heap.insert(500000, "owner");
+        final int producers = 4;
+        final int perProducer = 5000;
+        Thread[] workers = new Thread[producers];
+        for (int t = 0; t < producers; t++) {
+            final int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perProducer; i++) {
+                    heap.offer(1 + random.nextInt(1000000), "p" + seed);
+                }
+            });
+            workers[t].start();
+        }
+
+        // The consumer keeps deleting while producers run
+        int consumed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (heap.findMin() != null) {
+                heap.deleteMin();
+                consumed++;
+            }
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        heap.drainOffers();
+        int expected = 1 + producers * perProducer - consumed;
+        assertTrue("Every offered node should be drained exactly once", heap.size() == expected);
+        assertTrue("Heap property should hold after draining offers", checkHeapProperty(heap));
+
+        int sizeBefore = heap.size();
+        FibonacciHeap.HeapNode pending = heap.offer(3, "pending");
+        assertTrue("Offered nodes should not be counted before a drain", heap.size() == sizeBefore);
+        heap.decreaseKey(pending, 2);
+        assertTrue("decreaseKey should drain an undrained node first",
+                heap.findMin() == pending && heap.size() == sizeBefore + 1);
+
+        int previous = 0;
+        boolean sorted = true;
+        while (heap.findMin() != null) {
+            sorted &= heap.findMin().key >= previous;
+            previous = heap.findMin().key;
+            heap.deleteMin();
+        }
+        assertTrue("Offered nodes should drain in sorted order", sorted);
+
+        FibonacciHeap offersOnly = new FibonacciHeap(c);
+        offersOnly.offer(5, "five");
+        offersOnly.offer(3, "three");
+        offersOnly.offer(7, "seven");
+        FibonacciHeap.HeapNode[] smallest = offersOnly.extractMin(2);
+        assertTrue("extractMin should include offered nodes",
+                smallest.length == 2 && smallest[0].key == 3 && smallest[1].key == 5);
+        assertTrue("extractMin should leave the remaining offer", offersOnly.size() == 1 && offersOnly.findMin().key == 7);
+    }
+
+    /**
+     * Tests FibonacciMultiQueue loses nothing under concurrency and stays near the minimum
+     */
+    private static void testMultiQueue(int c) {
+        System.out.println("\n-> Testing relaxed MultiQueue");
+        FibonacciMultiQueue exact = new FibonacciMultiQueue(1, c);
+        for (int i = 20; i >= 1; i--) {
+            exact.insert(i, "k" + i);
+        }
+        boolean inOrder = true;
+        for (int i = 1; i <= 20; i++) {
+            inOrder &= exact.deleteMin().key == i;
+        }
+        assertTrue("A single-shard MultiQueue should be exact", inOrder && exact.deleteMin() == null);
+
+        FibonacciMultiQueue queue = new FibonacciMultiQueue(8, c);
+        final int threads = 4;
+        final int perThread = 5000;
+        Set<FibonacciHeap.HeapNode> deleted = Collections.synchronizedSet(new HashSet<>());
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(1 + random.nextInt(1000000), "t" + seed);
+                    if (i % 2 == 1) {
+                        deleted.add(queue.deleteMin());
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int half = threads * perThread / 2;
+        assertTrue("Concurrent MultiQueue deleteMins should return distinct nodes",
+                deleted.size() == half && !deleted.contains(null));
+        assertTrue("MultiQueue size should account for every operation", queue.size() == half);
+
+        int drained = 0;
+        while (queue.deleteMin() != null) {
+            drained++;
+        }
+        assertTrue("MultiQueue should drain every remaining item", drained == half && queue.size() == 0);
+    }
+
+    /**
+     * Tests the fork-join bulk build and meldAll produce consolidated heaps
+     */
+    private static void testParallelBuild(int c) {
+        System.out.println("\n-> Testing parallel build and meldAll");
+        int n = 100000;
+        int[] keys = new int[n];
+        Random random = new Random(c);
+        for (int i = 0; i < n; i++) {
+            keys[i] = 1 + random.nextInt(1000000);
+        }
+        FibonacciHeap.HeapNode[] nodes = new FibonacciHeap.HeapNode[n];
+        FibonacciHeap heap = FibonacciHeap.parallelOf(keys, c, nodes, ForkJoinPool.commonPool());
+        int expectedMin = Arrays.stream(keys).min().getAsInt();
+        assertTrue("Parallel build should hold every key", heap.size() == n && heap.findMin().key == expectedMin);
+        assertTrue("Parallel build should return a node per key", nodes[n / 2].key == keys[n / 2]);
+        assertTrue("Parallel build should be consolidated", heap.numTrees() <= 32 - Integer.numberOfLeadingZeros(n));
+        assertTrue("Heap property should hold after a parallel build", checkHeapProperty(heap));
+
+        heap.decreaseKey(nodes[n / 2], nodes[n / 2].key);
+        assertTrue("Nodes from a parallel build should accept decreaseKey", heap.findMin() == nodes[n / 2]);
+
+        FibonacciHeap[] parts = new FibonacciHeap[5];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = FibonacciHeap.of(new int[] {10 + i, 20 + i, 30 + i}, c);
+        }
+        FibonacciHeap target = new FibonacciHeap(c);
+        target.insert(5, "five");
+        int links = target.meldAll(parts);
+        assertTrue("meldAll should combine every heap", target.size() == 16 && target.findMin().key == 5);
+        assertTrue("meldAll should consolidate once", links == 15 && target.numTrees() == 1);
+        assertTrue("An empty parallel build should give an empty heap",
+                FibonacciHeap.parallelOf(new int[0], c).size() == 0);
+    }
+
+    /**
+     * Tests splitRoots and a branch and bound search on the work-stealing scheduler
+     */
+    private static void testWorkStealing(int c) {
+        System.out.println("\n-> Testing work-stealing scheduler");
+        TypedFibonacciHeap<String> heap = new TypedFibonacciHeap<>(c);
+        for (int i = 1; i <= 20; i++) {
+            heap.insert(i, "v" + i);
+        }
+        TypedFibonacciHeap<String> stolen = heap.splitRoots(WorkStealingScheduler.STEAL_MAX_RANK);
+        assertTrue("splitRoots should move about half of the roots", stolen.size() == 10 && heap.size() == 10);
+        assertTrue("splitRoots should leave the minimum in place", heap.findMin().key == 1 && stolen.findMin().key > 1);
+        heap.meld(stolen);
+        assertTrue("Split heaps should meld back together", heap.size() == 20 && heap.findMin().key == 1);
+        heap.deleteMin();
+        assertTrue("splitRoots should only move trees of small rank",
+                heap.splitRoots(0).size() == 0 && heap.size() == 19);
+
+        // After cuts, low-rank roots may carry large subtrees; sizes must stay exact
+        TypedFibonacciHeap<Integer> cutHeap = new TypedFibonacciHeap<>(c);
+        List<TypedFibonacciHeap.HeapNode<Integer>> cutNodes = new ArrayList<>();
+        for (int i = 1; i <= 4096; i++) {
+            cutNodes.add(cutHeap.insert(10000 + i, i));
+        }
+        cutHeap.deleteMin();
+        Random cutRandom = new Random(c);
+        for (int i = 1; i < cutNodes.size(); i += 3) {
+            cutHeap.decreaseKey(cutNodes.get(i), 1 + cutRandom.nextInt(9000));
+        }
+        int splitTotal = 0;
+        int cutSize = cutHeap.size();
+        for (int rank = 0; rank < 4; rank++) {
+            TypedFibonacciHeap<Integer> part = cutHeap.splitRoots(rank);
+            int reported = part.size();
+            int counted = 0;
+            while (part.findMin() != null) {
+                part.deleteMin();
+                counted++;
+            }
+            splitTotal += counted;
+            assertTrue("splitRoots should report the size of the moved trees", counted == reported);
+        }
+        int remaining = 0;
+        while (cutHeap.findMin() != null) {
+            cutHeap.deleteMin();
+            remaining++;
+        }
+        assertTrue("splitRoots should keep both sizes exact after cuts",
+                splitTotal + remaining == cutSize && cutHeap.size() == 0);
+
+        // 0/1 knapsack: a node is {next item, weight, value}, keyed by limit - upper bound
+        Random random = new Random(c);
+        int n = 16;
+        int[] weights = new int[n];
+        int[] values = new int[n];
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 + random.nextInt(50);
+            values[i] = 1 + random.nextInt(50);
+            total += values[i];
+        }
+        int capacity = 200;
+        int[] suffix = new int[n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            suffix[i] = suffix[i + 1] + values[i];
+        }
+        int limit = total + 1;
+        int expected = 0;
+        for (int mask = 0; mask < 1 << n; mask++) {
+            int weight = 0;
+            int value = 0;
+            for (int i = 0; i < n; i++) {
+                if ((mask & 1 << i) != 0) {
+                    weight += weights[i];
+                    value += values[i];
+                }
+            }
+            if (weight <= capacity) {
+                expected = Math.max(expected, value);
+            }
+        }
+
+        for (int workers : new int[] {1, 3}) {
+            WorkStealingScheduler<int[]> scheduler = new WorkStealingScheduler<>(workers, c);
+            scheduler.run(limit - suffix[0], new int[] {0, 0, 0}, (key, node, worker) -> {
+                int level = node[0];
+                worker.improveBound(limit - node[2]);
+                if (level == n) {
+                    return;
+                }
+                if (node[1] + weights[level] <= capacity) {
+                    int value = node[2] + values[level];
+                    worker.push(limit - value - suffix[level + 1], new int[] {level + 1, node[1] + weights[level], value});
+                }
+                worker.push(limit - node[2] - suffix[level + 1], new int[] {level + 1, node[1], node[2]});
+            });
+            assertTrue("Branch and bound with " + workers + " workers should find the optimum",
+                    limit - scheduler.pruneKey() == expected);
+            assertTrue("The bound should prune part of the search tree",
+                    scheduler.expanded() > 0 && scheduler.expanded() < 1L << (n + 1));
+        }
+
+        // The root pauses between pushes, so thieves take and finish its
+        // children while it is still being expanded; the search must neither
+        // stop early nor hang, and must expand every node
+        boolean terminated = true;
+        boolean complete = true;
+        for (int run = 0; run < 100 && terminated; run++) {
+            WorkStealingScheduler<Integer> scheduler = new WorkStealingScheduler<>(4, c);
+            Thread runner = new Thread(() -> scheduler.run(1, 0, (key, depth, worker) -> {
+                if (depth == 0) {
+                    for (int i = 0; i < 16; i++) {
+                        worker.push(2, 1);
+                        LockSupport.parkNanos(100_000);
+                    }
+                }
+            }));
+            runner.setDaemon(true);
+            runner.start();
+            try {
+                runner.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            terminated = !runner.isAlive();
+            complete &= scheduler.expanded() == 17;
+        }
+        assertTrue("The scheduler should terminate when expanders pause between pushes", terminated);
+        assertTrue("The scheduler should expand every node before terminating", complete);
+
+        // An expander that throws must stop every worker, even from an
+        // interrupted caller, and leave the scheduler usable
+        WorkStealingScheduler<Integer> failing = new WorkStealingScheduler<>(4, c);
+        RuntimeException boom = new RuntimeException("boom");
+        Throwable[] caught = new Throwable[1];
+        boolean[] stillInterrupted = new boolean[1];
+        Thread runner = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            try {
+                failing.run(1, -1, (key, child, worker) -> {
+                    if (child < 0) {
+                        for (int i = 0; i < 16; i++) {
+                            worker.push(2, i);
+                        }
+                    } else if (child == 5) {
+                        throw boom;
+                    } else {
+                        LockSupport.parkNanos(20_000_000);
+                    }
+                });
+            } catch (Throwable t) {
+                caught[0] = t;
+            }
+            stillInterrupted[0] = Thread.interrupted();
+        });
+        runner.setDaemon(true);
+        runner.start();
+        try {
+            runner.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean workersEnded = true;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            workersEnded &= !thread.getName().startsWith("work-stealing-");
+        }
+        assertTrue("A failing expander should end the search with its exception",
+                !runner.isAlive() && caught[0] == boom && stillInterrupted[0]);
+        assertTrue("run should not return before its workers end", workersEnded);
+        long before = failing.expanded();
+        failing.run(1, -1, (key, child, worker) -> {
+            if (child < 0) {
+                for (int i = 0; i < 16; i++) {
+                    worker.push(2, i);
+                }
+            }
+        });
+        assertTrue("The scheduler should run again after a failure", failing.expanded() - before == 17);
+    }
+
     /**
      * Utility method to find actual minimum key in a list of nodes
      */
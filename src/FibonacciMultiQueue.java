@@ -0,0 +1,176 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FibonacciMultiQueue
+ *
+ * A relaxed concurrent priority queue made of FibonacciHeap shards, each
+ * guarded by its own lock. insert adds to a random shard; deleteMin looks at
+ * the cached minimum of two random shards and removes the smaller one. On
+ * these paths locks are only tried, never waited for: a busy shard makes the
+ * operation pick again. With about two shards per thread contention stays
+ * low and throughput scales with the number of threads. Only when random
+ * picks keep finding empty shards does deleteMin fall back to visiting
+ * every shard in turn, and that scan waits for each lock.
+ *
+ * deleteMin does not return the global minimum, only an item whose expected
+ * rank (the number of smaller items in the queue) is O(number of shards).
+ * Experiments.multiQueueRankError measures this rank error.
+ *
+ */
+public class FibonacciMultiQueue
+{
+	private final Shard[] shards;
+
+	/**
+	 *
+	 * Constructor to initialize an empty queue with the given number of
+	 * shards, each a FibonacciHeap with cascading parameter c.
+	 * pre: shards >= 1, c >= 2. A good choice is shards = 2 * threads.
+	 *
+	 */
+	public FibonacciMultiQueue(int shards, int c)
+	{
+		if (shards < 1) {
+			throw new IllegalArgumentException("At least one shard is required");
+		}
+		this.shards = new Shard[shards];
+		for (int i = 0; i < shards; i++) {
+			this.shards[i] = new Shard(c);
+		}
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert (key,info) into a random shard and return the new HeapNode.
+	 *
+	 */
+	public FibonacciHeap.HeapNode insert(int key, String info)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (true) {
+			Shard shard = shards[random.nextInt(shards.length)];
+			if (shard.lock.tryLock()) {
+				try {
+					FibonacciHeap.HeapNode node = shard.heap.insert(key, info);
+					shard.publish();
+					return node;
+				} finally {
+					shard.lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * Delete an item close to the minimum and return its node, null if the
+	 * queue is empty.
+	 *
+	 */
+	public FibonacciHeap.HeapNode deleteMin()
+	{
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int emptyPicks = 0;
+		while (emptyPicks <= shards.length) {
+			Shard a = shards[random.nextInt(shards.length)];
+			Shard b = shards[random.nextInt(shards.length)];
+			Shard best = b.minKey < a.minKey ? b : a;
+			if (best.minKey == Shard.EMPTY) {
+				emptyPicks++;
+				continue;
+			}
+			if (best.lock.tryLock()) {
+				try {
+					FibonacciHeap.HeapNode node = deleteMinLocked(best);
+					if (node != null) {
+						return node;
+					}
+				} finally {
+					best.lock.unlock();
+				}
+			}
+		}
+		// Random picks kept finding empty shards: check every shard once,
+		// waiting for its lock so a busy shard is not taken for an empty one
+		for (Shard shard : shards) {
+			shard.lock.lock();
+			try {
+				FibonacciHeap.HeapNode node = deleteMinLocked(shard);
+				if (node != null) {
+					return node;
+				}
+			} finally {
+				shard.lock.unlock();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Remove and return the minimum of shard, whose lock is held.
+	 */
+	private static FibonacciHeap.HeapNode deleteMinLocked(Shard shard) {
+		FibonacciHeap.HeapNode node = shard.heap.findMin();
+		if (node != null) {
+			shard.heap.deleteMin();
+			shard.publish();
+		}
+		return node;
+	}
+
+	/**
+	 *
+	 * Return the number of items, exact only while no operation is running.
+	 *
+	 */
+	public int size()
+	{
+		int size = 0;
+		for (Shard shard : shards) {
+			size += shard.size;
+		}
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of shards.
+	 *
+	 */
+	public int numShards()
+	{
+		return shards.length;
+	}
+
+	/**
+	 * A FibonacciHeap with its lock and a copy of its minimum key and size
+	 * that other threads may read without the lock.
+	 */
+	private static final class Shard {
+		static final long EMPTY = Long.MAX_VALUE;
+
+		final ReentrantLock lock = new ReentrantLock();
+		final FibonacciHeap heap;
+		volatile long minKey = EMPTY;
+		volatile int size;
+
+		Shard(int c) {
+			this.heap = new FibonacciHeap(c);
+		}
+
+		/**
+		 * Refresh minKey and size. Lock held.
+		 */
+		void publish() {
+			FibonacciHeap.HeapNode min = heap.findMin();
+			minKey = min == null ? EMPTY : min.key;
+			size = heap.size();
+		}
+	}
+}
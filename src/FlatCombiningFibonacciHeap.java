@@ -0,0 +1,275 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FlatCombiningFibonacciHeap
+ *
+ * A thread-safe front end for FibonacciHeap based on flat combining. Each
+ * thread owns a Request record, registered once in a shared list. To run an
+ * operation a thread writes its arguments into its record and publishes it,
+ * then either waits for the result or, if the combiner lock is free, becomes
+ * the combiner: it walks the list and applies every published request to
+ * the heap, its own included, before releasing the lock.
+ *
+ * Under contention a single thread thus applies a whole batch of operations
+ * while the heap stays hot in its cache, and the other threads spin on
+ * their own record instead of handing a lock around.
+ *
+ * Nodes are never recycled, so a node returned by insert or deleteMin may be
+ * read safely after the call. Its key only changes through decreaseKey.
+ * Records of threads that have finished stay in the list; they are idle and
+ * cost one check per combining pass.
+ *
+ */
+public class FlatCombiningFibonacciHeap
+{
+	private static final int IDLE = 0;
+	private static final int INSERT = 1;
+	private static final int DELETE_MIN = 2;
+	private static final int DECREASE_KEY = 3;
+	private static final int FIND_MIN = 4;
+	private static final int DELETE = 5;
+	// Passes over the request list per combining session; later passes pick up
+	// requests published while the earlier ones ran
+	private static final int COMBINE_PASSES = 3;
+	// Busy-wait iterations before a waiting thread starts yielding, so that a
+	// preempted combiner gets the CPU back on oversubscribed machines
+	private static final int SPINS_BEFORE_YIELD = 256;
+
+	private final FibonacciHeap heap;
+	private final AtomicBoolean combinerLock = new AtomicBoolean();
+	private final AtomicReference<Request> requests = new AtomicReference<>();
+	private final ThreadLocal<Request> localRequest = ThreadLocal.withInitial(this::register);
+	private volatile int size;
+	private long combinedCount;
+	private long combiningSessions;
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public FlatCombiningFibonacciHeap(int c)
+	{
+		this.heap = new FibonacciHeap(c);
+	}
+
+	/**
+	 * Create this thread's request record and push it onto the shared list.
+	 */
+	private Request register() {
+		Request request = new Request();
+		Request head;
+		do {
+			head = requests.get();
+			request.next = head;
+		} while (!requests.compareAndSet(head, request));
+		return request;
+	}
+
+	/**
+	 * Publish request with operation op and return once it has been applied,
+	 * combining if no other thread is.
+	 */
+	private void submit(Request request, int op) {
+		request.op = op; // volatile write publishes the arguments
+		int spins = 0;
+		while (request.op != IDLE) {
+			if (!combinerLock.get() && combinerLock.compareAndSet(false, true)) {
+				try {
+					combine();
+				} finally {
+					combinerLock.set(false);
+				}
+			} else if (++spins < SPINS_BEFORE_YIELD) {
+				Thread.onSpinWait();
+			} else {
+				Thread.yield();
+			}
+		}
+		if (request.error != null) {
+			RuntimeException error = request.error;
+			request.error = null;
+			throw error;
+		}
+	}
+
+	/**
+	 * Apply every published request. Called with the combiner lock held.
+	 */
+	private void combine() {
+		combiningSessions++;
+		for (int pass = 0; pass < COMBINE_PASSES; pass++) {
+			boolean applied = false;
+			for (Request request = requests.get(); request != null; request = request.next) {
+				int op = request.op;
+				if (op != IDLE) {
+					apply(request, op);
+					request.op = IDLE; // volatile write publishes the results
+					applied = true;
+					combinedCount++;
+				}
+			}
+			if (!applied) {
+				break;
+			}
+		}
+		size = heap.size();
+	}
+
+	/**
+	 * Run one request against the heap and store its result in the request.
+	 */
+	private void apply(Request request, int op) {
+		try {
+			switch (op) {
+			case INSERT:
+				request.node = heap.insert(request.key, request.info);
+				break;
+			case DELETE_MIN:
+				request.node = heap.findMin();
+				if (request.node != null) {
+					heap.deleteMin();
+				}
+				break;
+			case DECREASE_KEY:
+				request.result = heap.decreaseKey(request.node, request.key);
+				break;
+			case FIND_MIN:
+				request.node = heap.findMin();
+				break;
+			case DELETE:
+				request.result = heap.delete(request.node);
+				break;
+			default:
+				throw new IllegalStateException("Unknown operation " + op);
+			}
+		} catch (RuntimeException e) {
+			request.error = e;
+		}
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert (key,info) into the heap and return the newly generated HeapNode.
+	 *
+	 */
+	public FibonacciHeap.HeapNode insert(int key, String info)
+	{
+		Request request = localRequest.get();
+		request.key = key;
+		request.info = info;
+		submit(request, INSERT);
+		request.info = null;
+		FibonacciHeap.HeapNode node = request.node;
+		request.node = null;
+		return node;
+	}
+
+	/**
+	 *
+	 * Return the minimal HeapNode at the time of the call, null if empty.
+	 *
+	 */
+	public FibonacciHeap.HeapNode findMin()
+	{
+		Request request = localRequest.get();
+		submit(request, FIND_MIN);
+		FibonacciHeap.HeapNode node = request.node;
+		request.node = null;
+		return node;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item and return its node, null if empty.
+	 *
+	 * Unlike FibonacciHeap.deleteMin this returns the removed node, since
+	 * another thread may change the minimum between a findMin and a
+	 * deleteMin.
+	 *
+	 */
+	public FibonacciHeap.HeapNode deleteMin()
+	{
+		Request request = localRequest.get();
+		submit(request, DELETE_MIN);
+		FibonacciHeap.HeapNode node = request.node;
+		request.node = null;
+		return node;
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=x.key, x is in the heap
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(FibonacciHeap.HeapNode x, int diff)
+	{
+		Request request = localRequest.get();
+		request.node = x;
+		request.key = diff;
+		submit(request, DECREASE_KEY);
+		request.node = null;
+		return request.result;
+	}
+
+	/**
+	 *
+	 * pre: x is in the heap
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(FibonacciHeap.HeapNode x)
+	{
+		Request request = localRequest.get();
+		request.node = x;
+		submit(request, DELETE);
+		request.node = null;
+		return request.result;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap after the last combining
+	 * session.
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the average number of requests applied per combining session,
+	 * a measure of how much batching contention produced. Only meaningful
+	 * while no operation is running.
+	 *
+	 */
+	public double averageBatchSize()
+	{
+		return combiningSessions == 0 ? 0 : (double) combinedCount / combiningSessions;
+	}
+
+	/**
+	 * A thread's publication record. Arguments and results are plain fields
+	 * ordered by the volatile writes and reads of op.
+	 */
+	private static final class Request {
+		volatile int op;
+		int key; // key for insert, diff for decreaseKey
+		String info;
+		FibonacciHeap.HeapNode node;
+		int result;
+		RuntimeException error;
+		Request next;
+	}
+}
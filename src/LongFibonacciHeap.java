@@ -0,0 +1,427 @@
+import java.util.Arrays;
+
+/**
+ * LongFibonacciHeap
+ *
+ * A Fibonacci heap specialized for primitive long keys. Any long is a valid
+ * key (including zero and negatives). decreaseKey takes the new key;
+ * decreaseKeyBy takes a difference, like FibonacciHeap.decreaseKey (the two
+ * cannot share a name since both take a long). Nothing on the hot path boxes.
+ *
+ */
+public class LongFibonacciHeap
+{
+	public HeapNode min;
+	private int size;
+	private int length;
+	private final int nodesToCut;
+	private int totalLinksCount;
+	private int totalCutsCount;
+	// Reusable consolidation state: trees indexed by rank, plus a bitmap of filled slots
+	private HeapNode[] rankTable = new HeapNode[64];
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public LongFibonacciHeap(int c)
+	{
+		this.nodesToCut = c;
+	}
+
+	/**
+	 *
+	 * Insert (key,info) into the heap and return the newly generated HeapNode.
+	 *
+	 */
+	public HeapNode insert(long key, String info)
+	{
+		HeapNode node = new HeapNode();
+		node.key = key;
+		node.info = info;
+
+		if (min == null) {
+			min = node;
+			node.next = node;
+			node.prev = node;
+			length = 1;
+		} else {
+			addToRootList(node);
+			if (key < min.key) {
+				min = node;
+			}
+		}
+
+		size++;
+		return node;
+	}
+
+	/**
+	 * Insert node into the root list, next to min. O(1).
+	 */
+	private void addToRootList(HeapNode node) {
+		if (length == 0) {
+			node.next = node;
+			node.prev = node;
+		} else {
+			node.prev = min;
+			node.next = min.next;
+			min.next.prev = node;
+			min.next = node;
+		}
+		length++;
+	}
+
+	/**
+	 * Unhook node from the sibling list it is in.
+	 */
+	private static void unlink(HeapNode node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	/**
+	 *
+	 * Return the minimal HeapNode, null if empty.
+	 *
+	 */
+	public HeapNode findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		HeapNode z = min;
+		int links = 0;
+		if (z != null) {
+			if (z.child != null) {
+				addChildrenToRootList(z);
+			}
+
+			if (z.next == z) {
+				min = null;
+				length = 0;
+			} else {
+				min = z.next;
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(HeapNode z) {
+		HeapNode first = z.child;
+		HeapNode c = first;
+		int children = 0;
+		do {
+			c.parent = null;
+			children++;
+			c = c.next;
+		} while (c != first);
+
+		HeapNode last = first.prev;
+		HeapNode before = z.prev;
+		before.next = first;
+		first.prev = before;
+		last.next = z;
+		z.prev = last;
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index rank is valid.
+	 */
+	private void ensureRankCapacity(int rank) {
+		if (rank < rankTable.length) return;
+		int newLength = rankTable.length;
+		while (newLength <= rank) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private int consolidate() {
+		int links = 0;
+		HeapNode node = min;
+		int roots = length;
+		for (int i = 0; i < roots; i++) {
+			HeapNode nextRoot = node.next;
+			int rank = node.rank;
+
+			while (true) {
+				ensureRankCapacity(rank);
+				HeapNode other = rankTable[rank];
+				if (other == null) break;
+
+				if (node.key > other.key) {
+					HeapNode temp = node;
+					node = other;
+					other = temp;
+				}
+				link(other, node);
+				links++;
+				rankTable[rank] = null;
+				rankOccupied[rank >>> 6] &= ~(1L << rank);
+				rank++;
+			}
+
+			rankTable[rank] = node;
+			rankOccupied[rank >>> 6] |= 1L << rank;
+			node = nextRoot;
+		}
+
+		min = null;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int rank = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				HeapNode root = rankTable[rank];
+				rankTable[rank] = null;
+				addToRootList(root);
+				if (min == null || root.key < min.key) {
+					min = root;
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(HeapNode y, HeapNode x) {
+		unlink(y);
+		y.parent = x;
+		if (x.child == null) {
+			x.child = y;
+			y.next = y;
+			y.prev = y;
+		} else {
+			y.next = x.child;
+			y.prev = x.child.prev;
+			x.child.prev.next = y;
+			x.child.prev = y;
+		}
+		x.rank++;
+		y.isLoser = false;
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(HeapNode x, HeapNode y) {
+		if (x.next == x) {
+			y.child = null;
+		} else {
+			if (y.child == x) {
+				y.child = x.next;
+			}
+			unlink(x);
+		}
+		y.rank--;
+		addToRootList(x);
+		x.parent = null;
+		x.isLoser = false;
+		y.markCnt++;
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(HeapNode y) {
+		int cuts = 0;
+		HeapNode parent = y.parent;
+		while (parent != null) {
+			if (!y.isLoser) {
+				if (y.markCnt >= nodesToCut - 1) {
+					y.isLoser = true;
+				}
+				break;
+			}
+			cut(y, parent);
+			y.markCnt = 0;
+			cuts++;
+			y = parent;
+			parent = y.parent;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: newKey <= x.key
+	 *
+	 * Set the key of x to newKey and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(HeapNode x, long newKey)
+	{
+		if (x == null || newKey > x.key) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		x.key = newKey;
+		HeapNode parent = x.parent;
+		int cuts = 0;
+		if (parent != null && newKey < parent.key) {
+			cut(x, parent);
+			cuts = 1 + cascadingCut(parent);
+		}
+		if (newKey < min.key) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: diff >= 0, x.key - diff does not overflow
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKeyBy(HeapNode x, long diff)
+	{
+		if (x == null || diff < 0 || x.key - diff > x.key) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+		return decreaseKey(x, x.key - diff);
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public int delete(HeapNode x)
+	{
+		// Keys are unbounded, so x is moved to the root list and treated as the
+		// minimum instead of being decreased below the current minimum
+		HeapNode parent = x.parent;
+		if (parent != null) {
+			cut(x, parent);
+			cascadingCut(parent);
+		}
+		min = x;
+		return deleteMin();
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2
+	 *
+	 */
+	public void meld(LongFibonacciHeap heap2)
+	{
+		if (heap2 == null || heap2.min == null) {
+			return;
+		}
+
+		if (min == null) {
+			min = heap2.min;
+		} else {
+			HeapNode thisLast = min.prev;
+			HeapNode heap2Last = heap2.min.prev;
+			thisLast.next = heap2.min;
+			heap2.min.prev = thisLast;
+			heap2Last.next = min;
+			min.prev = heap2Last;
+			if (heap2.min.key < min.key) {
+				min = heap2.min;
+			}
+		}
+
+		size += heap2.size;
+		length += heap2.length;
+		totalLinksCount += heap2.totalLinksCount;
+		totalCutsCount += heap2.totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return length;
+	}
+
+	/**
+	 * Class implementing a node in a LongFibonacciHeap.
+	 *
+	 */
+	public static class HeapNode{
+		public long key;
+		public String info;
+		public HeapNode child;
+		public HeapNode next;
+		public HeapNode prev;
+		public HeapNode parent;
+		public int rank;
+		public boolean isLoser;
+		public int markCnt;
+	}
+}
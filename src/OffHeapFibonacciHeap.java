@@ -0,0 +1,509 @@
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * OffHeapFibonacciHeap
+ *
+ * A Fibonacci heap over positive integers whose nodes live outside the Java
+ * heap, in MemorySegment chunks allocated from an Arena. A node is identified
+ * by a long handle and the size is a long, so the heap can hold more than
+ * 2^31 elements while the garbage collector only ever sees the chunk table.
+ *
+ * Cascading cuts follow the same generalized rule as FibonacciHeap: a node is
+ * cut from its parent once it has lost c children (nodesToCut).
+ *
+ * The heap owns native memory; close() releases it, after which the heap and
+ * all of its handles are unusable.
+ *
+ */
+public class OffHeapFibonacciHeap implements AutoCloseable
+{
+	public static final long NIL = -1L;
+
+	// Node layout: key, rank and mark count as ints, then four long links
+	private static final long KEY = 0;
+	private static final long RANK = 4;
+	private static final long MARK = 8;
+	private static final long LOSER = 12;
+	private static final long PARENT = 16;
+	private static final long CHILD = 24;
+	private static final long NEXT = 32;
+	private static final long PREV = 40;
+	private static final long NODE_BYTES = 48;
+
+	// Each chunk holds 2^CHUNK_SHIFT nodes
+	private static final int CHUNK_SHIFT = 16;
+	private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+	private static final long CHUNK_BYTES = NODE_BYTES << CHUNK_SHIFT;
+
+	private final Arena arena;
+	private MemorySegment[] chunks = new MemorySegment[16];
+	private int chunkCount;
+
+	private long min = NIL;
+	private long size;
+	private long length;
+	private final int nodesToCut;
+	private long totalLinksCount;
+	private long totalCutsCount;
+
+	// Handles in [0, used) have been handed out; freed nodes are chained through NEXT
+	private long used;
+	private long freeList = NIL;
+
+	// Reusable consolidation state: roots indexed by rank, plus a bitmap of filled slots
+	private long[] rankTable = new long[64];
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public OffHeapFibonacciHeap(int c)
+	{
+		this.nodesToCut = c;
+		this.arena = Arena.ofConfined();
+		Arrays.fill(rankTable, NIL);
+	}
+
+	// Field accessors; a handle selects a chunk and an offset inside it
+
+	private MemorySegment chunk(long x) {
+		return chunks[(int) (x >>> CHUNK_SHIFT)];
+	}
+
+	private static long offset(long x) {
+		return (x & CHUNK_MASK) * NODE_BYTES;
+	}
+
+	private int getInt(long x, long field) {
+		return chunk(x).get(ValueLayout.JAVA_INT, offset(x) + field);
+	}
+
+	private void setInt(long x, long field, int value) {
+		chunk(x).set(ValueLayout.JAVA_INT, offset(x) + field, value);
+	}
+
+	private long getLong(long x, long field) {
+		return chunk(x).get(ValueLayout.JAVA_LONG, offset(x) + field);
+	}
+
+	private void setLong(long x, long field, long value) {
+		chunk(x).set(ValueLayout.JAVA_LONG, offset(x) + field, value);
+	}
+
+	/**
+	 * Take a node from the free list, or append a new one, allocating a new
+	 * chunk when the last one is full.
+	 */
+	private long allocate() {
+		long x = freeList;
+		if (x != NIL) {
+			freeList = getLong(x, NEXT);
+		} else {
+			x = used;
+			int c = (int) (x >>> CHUNK_SHIFT);
+			if (c == chunkCount) {
+				if (c == chunks.length) {
+					chunks = Arrays.copyOf(chunks, chunks.length << 1);
+				}
+				chunks[c] = arena.allocate(CHUNK_BYTES, Long.BYTES);
+				chunkCount++;
+			}
+			used++;
+		}
+		setInt(x, RANK, 0);
+		setInt(x, MARK, 0);
+		setInt(x, LOSER, 0);
+		setLong(x, PARENT, NIL);
+		setLong(x, CHILD, NIL);
+		return x;
+	}
+
+	/**
+	 * Return node x to the free list.
+	 */
+	private void release(long x) {
+		setLong(x, PARENT, NIL);
+		setLong(x, CHILD, NIL);
+		setLong(x, PREV, NIL);
+		setLong(x, NEXT, freeList);
+		freeList = x;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert key into the heap and return the handle of the new node.
+	 *
+	 */
+	public long insert(int key)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+
+		long x = allocate();
+		setInt(x, KEY, key);
+
+		if (min == NIL) {
+			setLong(x, NEXT, x);
+			setLong(x, PREV, x);
+			min = x;
+			length = 1;
+		} else {
+			addToRootList(x);
+			if (key < getInt(min, KEY)) {
+				min = x;
+			}
+		}
+
+		size++;
+		return x;
+	}
+
+	/**
+	 * Insert x into the root list, next to min. O(1).
+	 */
+	private void addToRootList(long x) {
+		if (length == 0) {
+			setLong(x, NEXT, x);
+			setLong(x, PREV, x);
+		} else {
+			long after = getLong(min, NEXT);
+			setLong(x, PREV, min);
+			setLong(x, NEXT, after);
+			setLong(after, PREV, x);
+			setLong(min, NEXT, x);
+		}
+		length++;
+	}
+
+	/**
+	 * Unhook x from the sibling list it is in.
+	 */
+	private void unlink(long x) {
+		long p = getLong(x, PREV);
+		long n = getLong(x, NEXT);
+		setLong(p, NEXT, n);
+		setLong(n, PREV, p);
+	}
+
+	/**
+	 *
+	 * Return the handle of the minimal node, NIL if empty.
+	 *
+	 */
+	public long findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Return the key of node x.
+	 *
+	 */
+	public int key(long x)
+	{
+		return getInt(x, KEY);
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public long deleteMin()
+	{
+		long z = min;
+		long links = 0;
+		if (z != NIL) {
+			if (getLong(z, CHILD) != NIL) {
+				addChildrenToRootList(z);
+			}
+
+			long n = getLong(z, NEXT);
+			if (n == z) {
+				min = NIL;
+				length = 0;
+			} else {
+				min = n;
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+			release(z);
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(long z) {
+		long first = getLong(z, CHILD);
+		long c = first;
+		long children = 0;
+		do {
+			setLong(c, PARENT, NIL);
+			children++;
+			c = getLong(c, NEXT);
+		} while (c != first);
+
+		long last = getLong(first, PREV);
+		long before = getLong(z, PREV);
+		setLong(before, NEXT, first);
+		setLong(first, PREV, before);
+		setLong(last, NEXT, z);
+		setLong(z, PREV, last);
+		setLong(z, CHILD, NIL);
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index r is valid.
+	 */
+	private void ensureRankCapacity(int r) {
+		if (r < rankTable.length) return;
+		int oldLength = rankTable.length;
+		int newLength = oldLength;
+		while (newLength <= r) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		Arrays.fill(rankTable, oldLength, newLength, NIL);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private long consolidate() {
+		long links = 0;
+		long x = min;
+		long roots = length;
+		for (long i = 0; i < roots; i++) {
+			long nextRoot = getLong(x, NEXT);
+			int r = getInt(x, RANK);
+
+			while (true) {
+				ensureRankCapacity(r);
+				long y = rankTable[r];
+				if (y == NIL) break;
+
+				if (getInt(x, KEY) > getInt(y, KEY)) {
+					long temp = x;
+					x = y;
+					y = temp;
+				}
+				link(y, x);
+				links++;
+				rankTable[r] = NIL;
+				rankOccupied[r >>> 6] &= ~(1L << r);
+				r++;
+			}
+
+			rankTable[r] = x;
+			rankOccupied[r >>> 6] |= 1L << r;
+			x = nextRoot;
+		}
+
+		min = NIL;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int r = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				long root = rankTable[r];
+				rankTable[r] = NIL;
+				addToRootList(root);
+				if (min == NIL || getInt(root, KEY) < getInt(min, KEY)) {
+					min = root;
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(long y, long x) {
+		unlink(y);
+		setLong(y, PARENT, x);
+		long c = getLong(x, CHILD);
+		if (c == NIL) {
+			setLong(x, CHILD, y);
+			setLong(y, NEXT, y);
+			setLong(y, PREV, y);
+		} else {
+			long last = getLong(c, PREV);
+			setLong(y, NEXT, c);
+			setLong(y, PREV, last);
+			setLong(last, NEXT, y);
+			setLong(c, PREV, y);
+		}
+		setInt(x, RANK, getInt(x, RANK) + 1);
+		setInt(y, LOSER, 0);
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(long x, long y) {
+		long n = getLong(x, NEXT);
+		if (n == x) {
+			setLong(y, CHILD, NIL);
+		} else {
+			if (getLong(y, CHILD) == x) {
+				setLong(y, CHILD, n);
+			}
+			unlink(x);
+		}
+		setInt(y, RANK, getInt(y, RANK) - 1);
+		addToRootList(x);
+		setLong(x, PARENT, NIL);
+		setInt(x, LOSER, 0);
+		setInt(y, MARK, getInt(y, MARK) + 1);
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(long y) {
+		int cuts = 0;
+		long p = getLong(y, PARENT);
+		while (p != NIL) {
+			if (getInt(y, LOSER) == 0) {
+				if (getInt(y, MARK) >= nodesToCut - 1) {
+					setInt(y, LOSER, 1);
+				}
+				break;
+			}
+			cut(y, p);
+			setInt(y, MARK, 0);
+			cuts++;
+			y = p;
+			p = getLong(y, PARENT);
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=key(x)
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(long x, int diff)
+	{
+		if (x < 0 || x >= used || diff <= 0 || diff > getInt(x, KEY)) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		int key = getInt(x, KEY) - diff;
+		setInt(x, KEY, key);
+		long p = getLong(x, PARENT);
+		int cuts = 0;
+		if (p != NIL && key < getInt(p, KEY)) {
+			cut(x, p);
+			cuts = 1 + cascadingCut(p);
+		}
+		if (key < getInt(min, KEY)) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 */
+	public long delete(long x)
+	{
+		long p = getLong(x, PARENT);
+		if (p != NIL) {
+			cut(x, p);
+			cascadingCut(p);
+		}
+		// x is now a root; treat it as the minimum and remove it
+		min = x;
+		return deleteMin();
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public long totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public long totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public long numTrees()
+	{
+		return length;
+	}
+
+	/**
+	 *
+	 * Release the native memory backing this heap. Afterwards the heap is
+	 * empty, and insert or any access through a handle throws
+	 * IllegalStateException.
+	 *
+	 */
+	@Override
+	public void close()
+	{
+		arena.close();
+		min = NIL;
+		size = 0;
+		length = 0;
+	}
+}
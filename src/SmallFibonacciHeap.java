@@ -0,0 +1,269 @@
+/**
+ * SmallFibonacciHeap
+ *
+ * A heap for the common case of many tiny queues. Up to INLINE_CAPACITY
+ * items are kept in a small array and the minimum is found by a linear scan;
+ * no FibonacciHeap (with its rank table and scratch arrays) is allocated.
+ * The insert that would overflow the array promotes the heap: a
+ * FibonacciHeap is created and the inline nodes are handed over as roots.
+ *
+ * Items are FibonacciHeap.HeapNode objects in both modes and the same node
+ * moves into the FibonacciHeap on promotion, so handles returned by insert
+ * stay valid. A promoted heap stays promoted.
+ *
+ */
+public class SmallFibonacciHeap
+{
+	static final int INLINE_CAPACITY = 8;
+
+	private final int nodesToCut;
+	private FibonacciHeap.HeapNode[] items; // inline items, null until the first insert
+	private int count;
+	private int minIndex;
+	private FibonacciHeap heap; // set once promoted
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public SmallFibonacciHeap(int c)
+	{
+		this.nodesToCut = c;
+	}
+
+	/**
+	 *
+	 * Return true once the heap has moved to a full FibonacciHeap.
+	 *
+	 */
+	public boolean isPromoted()
+	{
+		return heap != null;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert (key,info) into the heap and return the newly generated HeapNode.
+	 *
+	 */
+	public FibonacciHeap.HeapNode insert(int key, String info)
+	{
+		if (heap == null && count == INLINE_CAPACITY) {
+			promote();
+		}
+		if (heap != null) {
+			return heap.insert(key, info);
+		}
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+		if (items == null) {
+			items = new FibonacciHeap.HeapNode[INLINE_CAPACITY];
+		}
+		FibonacciHeap.HeapNode node = new FibonacciHeap.HeapNode();
+		node.key = key;
+		node.info = info;
+		items[count] = node;
+		if (count == 0 || key < items[minIndex].key) {
+			minIndex = count;
+		}
+		count++;
+		return node;
+	}
+
+	/**
+	 * Move the inline items into a new FibonacciHeap.
+	 */
+	private void promote() {
+		heap = new FibonacciHeap(nodesToCut);
+		if (items != null) {
+			heap.insertNodes(items, count);
+		}
+		items = null;
+		count = 0;
+	}
+
+	/**
+	 *
+	 * Return the minimal HeapNode, null if empty.
+	 *
+	 */
+	public FibonacciHeap.HeapNode findMin()
+	{
+		if (heap != null) {
+			return heap.findMin();
+		}
+		return count == 0 ? null : items[minIndex];
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links (always 0 before promotion).
+	 *
+	 */
+	public int deleteMin()
+	{
+		if (heap != null) {
+			return heap.deleteMin();
+		}
+		if (count > 0) {
+			removeAt(minIndex);
+		}
+		return 0;
+	}
+
+	/**
+	 * Remove the inline item at index i and rescan for the minimum.
+	 */
+	private void removeAt(int i) {
+		FibonacciHeap.HeapNode node = items[i];
+		count--;
+		items[i] = items[count];
+		items[count] = null;
+		node.generation++; // same convention as FibonacciHeap: odd once removed
+
+		minIndex = 0;
+		for (int j = 1; j < count; j++) {
+			if (items[j].key < items[minIndex].key) {
+				minIndex = j;
+			}
+		}
+	}
+
+	/**
+	 * Return the inline index of x.
+	 */
+	private int indexOf(FibonacciHeap.HeapNode x) {
+		for (int i = 0; i < count; i++) {
+			if (items[i] == x) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Node is not in this heap");
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=x.key
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts (always 0 before promotion).
+	 *
+	 */
+	public int decreaseKey(FibonacciHeap.HeapNode x, int diff)
+	{
+		if (heap != null) {
+			return heap.decreaseKey(x, diff);
+		}
+		if (x == null || diff <= 0 || diff > x.key) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+		int i = indexOf(x);
+		x.key -= diff;
+		if (x.key < items[minIndex].key) {
+			minIndex = i;
+		}
+		return 0;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links (always 0 before promotion).
+	 *
+	 */
+	public int delete(FibonacciHeap.HeapNode x)
+	{
+		if (heap != null) {
+			return heap.delete(x);
+		}
+		removeAt(indexOf(x));
+		return 0;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2. heap2 is left empty.
+	 *
+	 * Two inline heaps stay inline if their items fit; otherwise this heap is
+	 * promoted and takes heap2's nodes or FibonacciHeap.
+	 *
+	 */
+	public void meld(SmallFibonacciHeap heap2)
+	{
+		if (heap2 == null || heap2 == this || heap2.size() == 0) {
+			return;
+		}
+
+		if (heap == null && heap2.heap == null && count + heap2.count <= INLINE_CAPACITY) {
+			if (items == null) {
+				items = new FibonacciHeap.HeapNode[INLINE_CAPACITY];
+			}
+			for (int i = 0; i < heap2.count; i++) {
+				items[count] = heap2.items[i];
+				if (count == 0 || items[count].key < items[minIndex].key) {
+					minIndex = count;
+				}
+				count++;
+			}
+		} else {
+			if (heap == null) {
+				promote();
+			}
+			if (heap2.heap != null) {
+				heap.meld(heap2.heap);
+			} else {
+				heap.insertNodes(heap2.items, heap2.count);
+			}
+		}
+
+		heap2.items = null;
+		heap2.count = 0;
+		heap2.heap = null;
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return heap != null ? heap.size() : count;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap (every inline item counts as one).
+	 *
+	 */
+	public int numTrees()
+	{
+		return heap != null ? heap.numTrees() : count;
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return heap != null ? heap.totalLinks() : 0;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return heap != null ? heap.totalCuts() : 0;
+	}
+}
@@ -0,0 +1,507 @@
+import java.util.Arrays;
+
+/**
+ * TypedFibonacciHeap
+ *
+ * A Fibonacci heap over positive integers whose nodes carry a typed payload
+ * of type V instead of a String, so callers need no side map from key to
+ * value. Keys stay primitive ints with the same rules as FibonacciHeap.
+ *
+ */
+public class TypedFibonacciHeap<V>
+{
+	public HeapNode<V> min;
+	private int size;
+	private int length;
+	private final int nodesToCut;
+	private int totalLinksCount;
+	private int totalCutsCount;
+	// Reusable consolidation state: trees indexed by rank, plus a bitmap of filled slots
+	private HeapNode<V>[] rankTable = newNodeArray(64);
+	private long[] rankOccupied = new long[1];
+
+	/**
+	 *
+	 * Constructor to initialize an empty heap.
+	 * pre: c >= 2.
+	 *
+	 */
+	public TypedFibonacciHeap(int c)
+	{
+		this.nodesToCut = c;
+	}
+
+	/**
+	 *
+	 * pre: key > 0
+	 *
+	 * Insert (key,value) into the heap and return the newly generated HeapNode.
+	 *
+	 */
+	public HeapNode<V> insert(int key, V value)
+	{
+		if (key <= 0) {
+			throw new IllegalArgumentException("Key must be positive");
+		}
+
+		HeapNode<V> node = new HeapNode<>();
+		node.key = key;
+		node.value = value;
+
+		if (min == null) {
+			min = node;
+			node.next = node;
+			node.prev = node;
+			length = 1;
+		} else {
+			addToRootList(node);
+			if (key < min.key) {
+				min = node;
+			}
+		}
+
+		size++;
+		return node;
+	}
+
+	/**
+	 * Insert node into the root list, next to min. O(1).
+	 */
+	private void addToRootList(HeapNode<V> node) {
+		if (length == 0) {
+			node.next = node;
+			node.prev = node;
+		} else {
+			node.prev = min;
+			node.next = min.next;
+			min.next.prev = node;
+			min.next = node;
+		}
+		length++;
+	}
+
+	/**
+	 * Unhook node from the sibling list it is in.
+	 */
+	private static <V> void unlink(HeapNode<V> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+	}
+
+	/**
+	 *
+	 * Return the minimal HeapNode, null if empty.
+	 *
+	 */
+	public HeapNode<V> findMin()
+	{
+		return min;
+	}
+
+	/**
+	 *
+	 * Delete the minimal item.
+	 * Return the number of links.
+	 *
+	 */
+	public int deleteMin()
+	{
+		HeapNode<V> z = min;
+		int links = 0;
+		if (z != null) {
+			if (z.child != null) {
+				addChildrenToRootList(z);
+			}
+
+			if (z.next == z) {
+				min = null;
+				length = 0;
+			} else {
+				min = z.next;
+				unlink(z);
+				length--;
+				links = consolidate();
+			}
+			size--;
+		}
+		return links;
+	}
+
+	/**
+	 * Splice all children of z into the root list, just before z.
+	 */
+	private void addChildrenToRootList(HeapNode<V> z) {
+		HeapNode<V> first = z.child;
+		HeapNode<V> c = first;
+		int children = 0;
+		do {
+			c.parent = null;
+			children++;
+			c = c.next;
+		} while (c != first);
+
+		HeapNode<V> last = first.prev;
+		HeapNode<V> before = z.prev;
+		before.next = first;
+		first.prev = before;
+		last.next = z;
+		z.prev = last;
+		length += children;
+	}
+
+	/**
+	 * Grow the rank table so that index rank is valid.
+	 */
+	private void ensureRankCapacity(int rank) {
+		if (rank < rankTable.length) return;
+		int newLength = rankTable.length;
+		while (newLength <= rank) {
+			newLength <<= 1;
+		}
+		rankTable = Arrays.copyOf(rankTable, newLength);
+		rankOccupied = Arrays.copyOf(rankOccupied, (newLength + 63) >>> 6);
+	}
+
+	/**
+	 * Link trees of equal rank until all roots have distinct ranks, then rebuild
+	 * the root list from the occupied ranks and update min.
+	 * Return the number of links.
+	 */
+	private int consolidate() {
+		int links = 0;
+		HeapNode<V> node = min;
+		int roots = length;
+		for (int i = 0; i < roots; i++) {
+			HeapNode<V> nextRoot = node.next;
+			int rank = node.rank;
+
+			while (true) {
+				ensureRankCapacity(rank);
+				HeapNode<V> other = rankTable[rank];
+				if (other == null) break;
+
+				if (node.key > other.key) {
+					HeapNode<V> temp = node;
+					node = other;
+					other = temp;
+				}
+				link(other, node);
+				links++;
+				rankTable[rank] = null;
+				rankOccupied[rank >>> 6] &= ~(1L << rank);
+				rank++;
+			}
+
+			rankTable[rank] = node;
+			rankOccupied[rank >>> 6] |= 1L << rank;
+			node = nextRoot;
+		}
+
+		min = null;
+		length = 0;
+		for (int word = 0; word < rankOccupied.length; word++) {
+			long bits = rankOccupied[word];
+			if (bits == 0) continue;
+			rankOccupied[word] = 0;
+			while (bits != 0) {
+				int rank = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				HeapNode<V> root = rankTable[rank];
+				rankTable[rank] = null;
+				addToRootList(root);
+				if (min == null || root.key < min.key) {
+					min = root;
+				}
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Make root y a child of root x.
+	 */
+	private void link(HeapNode<V> y, HeapNode<V> x) {
+		unlink(y);
+		y.parent = x;
+		if (x.child == null) {
+			x.child = y;
+			y.next = y;
+			y.prev = y;
+		} else {
+			y.next = x.child;
+			y.prev = x.child.prev;
+			x.child.prev.next = y;
+			x.child.prev = y;
+		}
+		x.rank++;
+		y.isLoser = false;
+		totalLinksCount++;
+	}
+
+	/**
+	 * Cut x from its parent y and add it to the root list.
+	 */
+	private void cut(HeapNode<V> x, HeapNode<V> y) {
+		if (x.next == x) {
+			y.child = null;
+		} else {
+			if (y.child == x) {
+				y.child = x.next;
+			}
+			unlink(x);
+		}
+		y.rank--;
+		addToRootList(x);
+		x.parent = null;
+		x.isLoser = false;
+		y.markCnt++;
+		totalCutsCount++;
+	}
+
+	/**
+	 * Walk up from y, cutting every loser ancestor, and mark the first node that
+	 * has now lost c-1 children. Return the number of cuts.
+	 */
+	private int cascadingCut(HeapNode<V> y) {
+		int cuts = 0;
+		HeapNode<V> parent = y.parent;
+		while (parent != null) {
+			if (!y.isLoser) {
+				if (y.markCnt >= nodesToCut - 1) {
+					y.isLoser = true;
+				}
+				break;
+			}
+			cut(y, parent);
+			y.markCnt = 0;
+			cuts++;
+			y = parent;
+			parent = y.parent;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * pre: 0<diff<=x.key
+	 *
+	 * Decrease the key of x by diff and fix the heap.
+	 * Return the number of cuts.
+	 *
+	 */
+	public int decreaseKey(HeapNode<V> x, int diff)
+	{
+		if (x == null || diff <= 0 || diff > x.key) {
+			throw new IllegalArgumentException("Invalid decrease key operation");
+		}
+
+		int newKey = x.key - diff;
+		x.key = newKey;
+		HeapNode<V> parent = x.parent;
+		int cuts = 0;
+		if (parent != null && newKey < parent.key) {
+			cut(x, parent);
+			cuts = 1 + cascadingCut(parent);
+		}
+		if (newKey < min.key) {
+			min = x;
+		}
+		return cuts;
+	}
+
+	/**
+	 *
+	 * Delete x from the heap.
+	 * Return the number of links.
+	 *
+	 * Like FibonacciHeap.delete, only deleting the minimum consolidates; any
+	 * other node is cut out and its children join the root list. The key of
+	 * x is left untouched.
+	 *
+	 */
+	public int delete(HeapNode<V> x)
+	{
+		if (x == min) {
+			return deleteMin();
+		}
+		HeapNode<V> parent = x.parent;
+		if (parent != null) {
+			cut(x, parent);
+			cascadingCut(parent);
+		}
+		if (x.child != null) {
+			addChildrenToRootList(x);
+		}
+		unlink(x);
+		length--;
+		size--;
+		return 0;
+	}
+
+	/**
+	 *
+	 * Return the total number of links.
+	 *
+	 */
+	public int totalLinks()
+	{
+		return totalLinksCount;
+	}
+
+	/**
+	 *
+	 * Return the total number of cuts.
+	 *
+	 */
+	public int totalCuts()
+	{
+		return totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Meld the heap with heap2
+	 *
+	 */
+	public void meld(TypedFibonacciHeap<V> heap2)
+	{
+		if (heap2 == null || heap2.min == null) {
+			return;
+		}
+
+		if (min == null) {
+			min = heap2.min;
+		} else {
+			HeapNode<V> thisLast = min.prev;
+			HeapNode<V> heap2Last = heap2.min.prev;
+			thisLast.next = heap2.min;
+			heap2.min.prev = thisLast;
+			heap2Last.next = min;
+			min.prev = heap2Last;
+			if (heap2.min.key < min.key) {
+				min = heap2.min;
+			}
+		}
+
+		size += heap2.size;
+		length += heap2.length;
+		totalLinksCount += heap2.totalLinksCount;
+		totalCutsCount += heap2.totalCutsCount;
+	}
+
+	/**
+	 *
+	 * Remove every item. The link and cut totals are kept.
+	 *
+	 */
+	public void clear()
+	{
+		min = null;
+		size = 0;
+		length = 0;
+	}
+
+	/**
+	 *
+	 * Move about half of the trees to a new heap and return it: every second
+	 * root after min whose rank is at most maxRank. min itself always stays.
+	 * Costs O(numTrees) plus the size of the moved trees, which are counted
+	 * to keep both sizes exact. Rank only bounds the number of children of a
+	 * root: after cuts a low-rank root can still hold a large subtree, so the
+	 * number of nodes moved is not bounded by maxRank.
+	 *
+	 */
+	public TypedFibonacciHeap<V> splitRoots(int maxRank)
+	{
+		TypedFibonacciHeap<V> split = new TypedFibonacciHeap<>(nodesToCut);
+		if (min == null) {
+			return split;
+		}
+		HeapNode<V> node = min.next;
+		int roots = length - 1;
+		boolean take = true;
+		for (int i = 0; i < roots; i++) {
+			HeapNode<V> next = node.next;
+			if (take && node.rank <= maxRank) {
+				unlink(node);
+				length--;
+				int moved = treeSize(node);
+				size -= moved;
+				split.addToRootList(node);
+				if (split.min == null || node.key < split.min.key) {
+					split.min = node;
+				}
+				split.size += moved;
+			}
+			take = !take;
+			node = next;
+		}
+		return split;
+	}
+
+	/**
+	 * Return the number of nodes in the tree rooted at x. Walks the tree
+	 * through the parent links instead of recursing, so deep trees cannot
+	 * overflow the stack.
+	 */
+	private static <V> int treeSize(HeapNode<V> x) {
+		int count = 0;
+		HeapNode<V> node = x;
+		while (true) {
+			count++;
+			if (node.child != null) {
+				node = node.child;
+				continue;
+			}
+			// Climb out of every subtree whose last child has been counted
+			while (node != x && node.next == node.parent.child) {
+				node = node.parent;
+			}
+			if (node == x) {
+				return count;
+			}
+			node = node.next;
+		}
+	}
+
+	/**
+	 *
+	 * Return the number of elements in the heap
+	 *
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 *
+	 * Return the number of trees in the heap.
+	 *
+	 */
+	public int numTrees()
+	{
+		return length;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <V> HeapNode<V>[] newNodeArray(int length) {
+		return (HeapNode<V>[]) new HeapNode[length];
+	}
+
+	/**
+	 * Class implementing a node in a TypedFibonacciHeap.
+	 *
+	 */
+	public static class HeapNode<V>{
+		public int key;
+		public V value;
+		public HeapNode<V> child;
+		public HeapNode<V> next;
+		public HeapNode<V> prev;
+		public HeapNode<V> parent;
+		public int rank;
+		public boolean isLoser;
+		public int markCnt;
+	}
+}
@@ -0,0 +1,316 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WorkStealingScheduler
+ *
+ * Runs a best-first search (such as branch and bound) on several threads,
+ * each owning a TypedFibonacciHeap of open search nodes. A worker always
+ * expands the best node of its own heap. When its heap runs dry it picks a
+ * random victim and steals a batch of trees with TypedFibonacciHeap.splitRoots:
+ * every second root of the victim's root list, so the thief gets good nodes
+ * while the victim keeps its minimum. Owners lock their own heap, which is
+ * uncontended unless a thief is at work; thieves only ever tryLock.
+ *
+ * The scheduler also keeps a global pruning bound shared by all workers:
+ * a node whose key is at least pruneKey() is discarded instead of expanded,
+ * and an expander lowers the bound with improveBound when it finds a better
+ * incumbent. Keys follow heap order, so for a maximization problem use
+ * something like (limit - upper bound) as the key.
+ *
+ */
+public class WorkStealingScheduler<V>
+{
+	// Only trees of at most this rank are stolen. Low-rank trees are usually
+	// small, but after cuts one may still hold a large subtree, so this does
+	// not bound the number of nodes a steal moves
+	static final int STEAL_MAX_RANK = 6;
+
+	private final Worker<V>[] workers;
+	private final AtomicInteger pruneKey = new AtomicInteger(Integer.MAX_VALUE);
+	// Nodes pushed but not yet expanded or pruned; the search ends at zero
+	private final AtomicLong outstanding = new AtomicLong();
+	private final AtomicLong steals = new AtomicLong();
+	private final AtomicLong expanded = new AtomicLong();
+	// First exception thrown by an expander in the current run; stops all workers
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * Expands one search node, pushing its children through the worker.
+	 */
+	public interface Expander<V>
+	{
+		void expand(int key, V value, Worker<V> worker);
+	}
+
+	/**
+	 *
+	 * Constructor for a scheduler with the given number of worker threads,
+	 * whose heaps use cascading parameter c.
+	 * pre: workers >= 1, c >= 2.
+	 *
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public WorkStealingScheduler(int workers, int c)
+	{
+		if (workers < 1) {
+			throw new IllegalArgumentException("At least one worker is required");
+		}
+		this.workers = (Worker<V>[]) new Worker[workers];
+		for (int i = 0; i < workers; i++) {
+			this.workers[i] = new Worker<>(this, i, c);
+		}
+	}
+
+	/**
+	 *
+	 * pre: rootKey > 0
+	 *
+	 * Search from (rootKey, root) until every node has been expanded or
+	 * pruned. Worker 0 runs on the calling thread, the others on new threads.
+	 * If an expander throws, every worker stops after its current expansion,
+	 * the open nodes are dropped and run rethrows the first exception.
+	 * run returns only once all worker threads have ended; an interrupt
+	 * while waiting for them is kept in the thread's interrupt status. The
+	 * scheduler may be run again afterwards; the bound is kept.
+	 *
+	 */
+	public void run(int rootKey, V root, Expander<V> expander)
+	{
+		if (rootKey >= pruneKey.get()) {
+			return;
+		}
+		outstanding.set(1);
+		workers[0].heap.insert(rootKey, root);
+
+		Thread[] threads = new Thread[workers.length - 1];
+		for (int i = 1; i < workers.length; i++) {
+			Worker<V> worker = workers[i];
+			threads[i - 1] = new Thread(() -> worker.work(expander), "work-stealing-" + i);
+			threads[i - 1].start();
+		}
+		workers[0].work(expander);
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			while (true) {
+				try {
+					thread.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true; // the workers still use the heaps
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+
+		Throwable thrown = failure.getAndSet(null);
+		if (thrown != null) {
+			for (Worker<V> worker : workers) {
+				worker.heap.clear();
+			}
+			outstanding.set(0);
+			if (thrown instanceof RuntimeException e) {
+				throw e;
+			}
+			if (thrown instanceof Error e) {
+				throw e;
+			}
+			throw new IllegalStateException("Expander failed", thrown);
+		}
+	}
+
+	/**
+	 *
+	 * Return the current pruning bound: nodes with a key at least this are
+	 * discarded. Integer.MAX_VALUE until improveBound is called.
+	 *
+	 */
+	public int pruneKey()
+	{
+		return pruneKey.get();
+	}
+
+	/**
+	 *
+	 * Lower the pruning bound to key if that is an improvement.
+	 *
+	 */
+	public void improveBound(int key)
+	{
+		int current = pruneKey.get();
+		while (key < current && !pruneKey.compareAndSet(current, key)) {
+			current = pruneKey.get();
+		}
+	}
+
+	/**
+	 *
+	 * Return the number of successful steals so far.
+	 *
+	 */
+	public long steals()
+	{
+		return steals.get();
+	}
+
+	/**
+	 *
+	 * Return the number of nodes expanded so far.
+	 *
+	 */
+	public long expanded()
+	{
+		return expanded.get();
+	}
+
+	/**
+	 * Try to move a batch of trees from a random other worker into thief's
+	 * heap. Return true if anything was stolen.
+	 */
+	private boolean steal(Worker<V> thief) {
+		if (workers.length == 1) {
+			return false;
+		}
+		int index = ThreadLocalRandom.current().nextInt(workers.length - 1);
+		Worker<V> victim = workers[index >= thief.index ? index + 1 : index];
+		if (victim.heap.size() == 0 || !victim.lock.tryLock()) {
+			return false;
+		}
+		TypedFibonacciHeap<V> batch;
+		try {
+			batch = victim.heap.splitRoots(STEAL_MAX_RANK);
+		} finally {
+			victim.lock.unlock();
+		}
+		if (batch.size() == 0) {
+			return false;
+		}
+		thief.lock.lock();
+		try {
+			thief.heap.meld(batch);
+		} finally {
+			thief.lock.unlock();
+		}
+		steals.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * A worker thread's view of the scheduler: its heap and the operations an
+	 * Expander may call.
+	 */
+	public static final class Worker<V>
+	{
+		private final WorkStealingScheduler<V> scheduler;
+		private final int index;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final TypedFibonacciHeap<V> heap;
+
+		private Worker(WorkStealingScheduler<V> scheduler, int index, int c) {
+			this.scheduler = scheduler;
+			this.index = index;
+			this.heap = new TypedFibonacciHeap<>(c);
+		}
+
+		/**
+		 *
+		 * pre: key > 0
+		 *
+		 * Add a search node to this worker's heap, unless the bound prunes it.
+		 *
+		 */
+		public void push(int key, V value)
+		{
+			if (key >= scheduler.pruneKey.get()) {
+				return;
+			}
+			// Count the node before a thief can see it, so the count cannot
+			// reach zero while the node is still queued
+			scheduler.outstanding.incrementAndGet();
+			lock.lock();
+			try {
+				heap.insert(key, value);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 *
+		 * Lower the shared pruning bound; see WorkStealingScheduler.improveBound.
+		 *
+		 */
+		public void improveBound(int key)
+		{
+			scheduler.improveBound(key);
+		}
+
+		/**
+		 *
+		 * Return the shared pruning bound.
+		 *
+		 */
+		public int pruneKey()
+		{
+			return scheduler.pruneKey.get();
+		}
+
+		/**
+		 * Expand nodes until the whole search is done or an expander failed.
+		 */
+		private void work(Expander<V> expander) {
+			int idle = 0;
+			while (scheduler.outstanding.get() > 0 && scheduler.failure.get() == null) {
+				int key = 0;
+				V value = null;
+				boolean found = false;
+				int pruned = 0;
+				lock.lock();
+				try {
+					TypedFibonacciHeap.HeapNode<V> min = heap.findMin();
+					if (min != null && min.key >= scheduler.pruneKey.get()) {
+						// Everything left here is no better than the bound
+						pruned = heap.size();
+						heap.clear();
+					} else if (min != null) {
+						key = min.key;
+						value = min.value;
+						heap.deleteMin();
+						found = true;
+					}
+				} finally {
+					lock.unlock();
+				}
+				if (pruned > 0) {
+					scheduler.outstanding.addAndGet(-pruned);
+				}
+
+				if (found) {
+					idle = 0;
+					try {
+						expander.expand(key, value, this);
+					} catch (Throwable t) {
+						scheduler.failure.compareAndSet(null, t);
+						scheduler.outstanding.set(0);
+						return;
+					}
+					scheduler.expanded.incrementAndGet();
+					// The children were counted as they were pushed; only now
+					// is the parent done
+					scheduler.outstanding.decrementAndGet();
+				} else if (!scheduler.steal(this)) {
+					if (++idle < 64) {
+						Thread.onSpinWait();
+					} else {
+						Thread.yield();
+					}
+				}
+			}
+		}
+	}
+}